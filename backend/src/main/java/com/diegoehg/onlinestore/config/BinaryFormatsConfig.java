@@ -0,0 +1,38 @@
+package com.diegoehg.onlinestore.config;
+
+import com.diegoehg.onlinestore.metrics.TimedCborHttpMessageConverter;
+import com.diegoehg.onlinestore.metrics.TimedSmileHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuration class for the compact binary response formats, CBOR and Smile, chosen by
+ * content negotiation (Accept header). The converters replace Spring's default CBOR and Smile
+ * converters in place, after the JSON one, so JSON stays the format of requests without an
+ * Accept header or accepting any type. The binary formats encode the same Response objects, with
+ * the same Jackson settings as JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean
+    public TimedCborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                                                  MeterRegistry meterRegistry) {
+        return new TimedCborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build(), meterRegistry);
+    }
+
+    @Bean
+    public TimedSmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                                                    MeterRegistry meterRegistry) {
+        return new TimedSmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build(), meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.diegoehg.onlinestore.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Configuration class that enables the in-process cache.
+ * The caches themselves (names, size and TTL) are defined in application.properties, and
+ * spring.cache.type=none turns them off (e.g. to measure database access in benchmarks).
+ *
+ * The caching interceptor is ordered before the transaction interceptor, so evictions
+ * happen once the write has been committed. A read that loaded the old state before the
+ * commit may still try to cache it after the eviction: product caches drop such values
+ * (see {@link EvictionGuardedCache}).
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Cache of product details (ProductDTO) by product ID
+     */
+    public static final String PRODUCT_CACHE = "products";
+
+    /**
+     * Cache of rendered product detail responses (JSON and gzipped JSON bytes) by product ID
+     */
+    public static final String PRODUCT_RESPONSE_CACHE = "productResponses";
+
+    private static final List<String> GUARDED_CACHES = List.of(PRODUCT_CACHE, PRODUCT_RESPONSE_CACHE);
+
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.type:caffeine}") String cacheType,
+                                     @Value("${spring.cache.cache-names}") List<String> cacheNames,
+                                     @Value("${spring.cache.caffeine.spec}") String cacheSpecification) {
+        if ("none".equalsIgnoreCase(cacheType)) {
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return GUARDED_CACHES.contains(name)
+                        ? new EvictionGuardedCache(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setCacheSpecification(cacheSpecification);
+        cacheManager.setCacheNames(cacheNames);
+        return cacheManager;
+    }
+}
@@ -1,17 +1,17 @@
 package com.diegoehg.onlinestore.config;
 
 import com.diegoehg.onlinestore.model.PaymentMethod;
-import com.diegoehg.onlinestore.model.Product;
 import com.diegoehg.onlinestore.model.Seller;
 import com.diegoehg.onlinestore.repository.PaymentMethodRepository;
-import com.diegoehg.onlinestore.repository.ProductRepository;
 import com.diegoehg.onlinestore.repository.SellerRepository;
+import com.diegoehg.onlinestore.service.ProductImportService;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
@@ -21,10 +21,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,8 +39,12 @@ import java.util.Map;
  * The CSV files are located in the resources/data directory:
  * - sellers.csv: Contains seller names and their associated payment method IDs
  * - products.csv: Contains 300 product details including title, description, price, seller ID, and image URLs
+ *
+ * Products are streamed into the database in batches through {@link ProductImportService}.
+ * The initialization can be turned off with app.data-initializer.enabled=false.
  */
 @Configuration
+@ConditionalOnProperty(name = "app.data-initializer.enabled", havingValue = "true", matchIfMissing = true)
 public class DataInitializer {
     
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
@@ -57,7 +59,7 @@ public class DataInitializer {
     public CommandLineRunner initDatabase(
             SellerRepository sellerRepository,
             PaymentMethodRepository paymentMethodRepository,
-            ProductRepository productRepository) {
+            ProductImportService productImportService) {
 
         return args -> {
             logger.info("Starting database initialization...");
@@ -91,20 +93,19 @@ public class DataInitializer {
             List<Seller> sellers = loadSellersFromCsv(paymentMethodMap);
             sellerRepository.saveAll(sellers);
 
-            // Create a map of sellers by ID for easy lookup
-            Map<Long, Seller> sellerMap = new HashMap<>();
+            // Create a map from the seller IDs used in the CSV to the persisted seller IDs
+            Map<Long, Long> sellerIdMap = new HashMap<>();
             long sellerId = 1;
             for (Seller seller : sellers) {
-                sellerMap.put(sellerId++, seller);
+                sellerIdMap.put(sellerId++, seller.getId());
             }
 
             // Initialize products from CSV
             logger.info("Initializing products from CSV...");
-            List<Product> products = loadProductsFromCsv(sellerMap);
-            productRepository.saveAll(products);
+            long productCount = loadProductsFromCsv(productImportService, sellerIdMap);
 
             logger.info("Database initialization completed successfully with {} sellers and {} products!",
-                    sellers.size(), products.size());
+                    sellers.size(), productCount);
         };
     }
 
@@ -155,52 +156,24 @@ public class DataInitializer {
     }
 
     /**
-     * Loads products from the CSV file.
+     * Loads products from the CSV file, streaming them into the database.
      *
-     * @param sellerMap Map of sellers by ID
-     * @return List of products
+     * @param productImportService Service that writes the products in batches
+     * @param sellerIdMap Map from the seller IDs used in the CSV to the persisted seller IDs
+     * @return Number of loaded products
      */
-    private List<Product> loadProductsFromCsv(Map<Long, Seller> sellerMap) {
-        List<Product> products = new ArrayList<>();
-
+    private long loadProductsFromCsv(ProductImportService productImportService, Map<Long, Long> sellerIdMap) {
         try {
             Resource resource = new ClassPathResource(PRODUCTS_CSV);
             try (Reader reader = new BufferedReader(new InputStreamReader(
                     resource.getInputStream(), StandardCharsets.UTF_8))) {
-
-                CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-                        .builder()
-                        .setHeader()
-                        .setSkipHeaderRecord(true)
-                        .setIgnoreHeaderCase(true)
-                        .setTrim(true)
-                        .build());
-
-                for (CSVRecord record : csvParser) {
-                    String description = record.get("description");
-                    BigDecimal price = new BigDecimal(record.get("price"));
-                    Long sellerId = Long.parseLong(record.get("seller_id"));
-                    String[] imageUrls = record.get("image_urls").split(";");
-                    String title = record.get(0);
-
-                    Seller seller = sellerMap.get(sellerId);
-                    if (seller != null) {
-                        Product product = new Product(
-                                title,
-                                description,
-                                Arrays.asList(imageUrls),
-                                price,
-                                seller
-                        );
-                        products.add(product);
-                    }
-                }
+                return productImportService.importProducts(reader, sellerIdMap);
             }
         } catch (IOException e) {
             logger.error("Error loading products from CSV", e);
         }
 
-        return products;
+        return 0;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.diegoehg.onlinestore.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caffeine cache that does not keep values loaded before an eviction of their key.
+ *
+ * Entries are evicted once a write commits, but a read that loaded the previous state before the
+ * commit can put it after the eviction, where it would be served until it expires. Every eviction
+ * is numbered and recorded for its key, and every miss remembers, for its thread and key, the number
+ * of the last eviction at that time. A value put after a miss of its key is dropped if the key has
+ * been evicted since, and is checked again once put, in case the eviction happened in between. The
+ * miss is forgotten once its value is put, so it never applies to a later put on the same thread.
+ * Values put without a miss of their key on the same thread are cached as given.
+ *
+ * Evictions are recorded in a fixed number of stripes, so a key sharing its stripe with an evicted
+ * key may occasionally not be cached; it is then loaded again on the next miss.
+ */
+class EvictionGuardedCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+    // Misses waiting for their put, per thread; a multi-get misses at most 100 keys before putting them
+    private static final int MAX_PENDING_MISSES = 1024;
+
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLongArray lastEvictions = new AtomicLongArray(STRIPES);
+    private volatile long lastClear;
+    private final ThreadLocal<Map<Object, Long>> pendingMisses = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Long> eldest) {
+                    // Misses whose value was never put (e.g. not found) must not pile up on pooled threads
+                    return size() > MAX_PENDING_MISSES;
+                }
+            });
+
+    EvictionGuardedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                         boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            // The value is loaded after the miss, so it can be stale if the key is evicted from now on
+            pendingMisses.get().put(key, evictions.get());
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Map<Object, Long> misses = pendingMisses.get();
+        Long missedAt = misses.remove(key);
+        try {
+            if (missedAt != null && evictedSince(key, missedAt)) {
+                return;
+            }
+            super.put(key, value);
+            if (missedAt != null && evictedSince(key, missedAt)) {
+                super.evict(key);
+            }
+        } finally {
+            if (misses.isEmpty()) {
+                pendingMisses.remove();
+            }
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        recordEviction(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        recordEviction(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        lastClear = evictions.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        lastClear = evictions.incrementAndGet();
+        return super.invalidate();
+    }
+
+    private void recordEviction(Object key) {
+        // Recorded before evicting, so a put checked after the eviction always sees it
+        long eviction = evictions.incrementAndGet();
+        lastEvictions.accumulateAndGet(stripe(key), eviction, Math::max);
+    }
+
+    private boolean evictedSince(Object key, long eviction) {
+        return lastEvictions.get(stripe(key)) > eviction || lastClear > eviction;
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+}
@@ -0,0 +1,59 @@
+package com.diegoehg.onlinestore.config;
+
+import com.diegoehg.onlinestore.metrics.StatementCountInterceptor;
+import com.diegoehg.onlinestore.metrics.StatementCountingInspector;
+import com.diegoehg.onlinestore.metrics.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for the application metrics, on top of the ones provided by Spring Boot
+ * (HTTP requests, JDBC pool, Hibernate statistics and caches):
+ * - onlinestore.service: latency of every service method annotated with @Timed
+ * - onlinestore.request.statements: SQL statements executed per request
+ * - onlinestore.mapping: time spent mapping entities to DTOs
+ * - onlinestore.serialization: time spent serializing responses, tagged by format (json, cbor, smile)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public StatementCountingInspector statementCountingInspector() {
+        return new StatementCountingInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(StatementCountingInspector statementCountingInspector) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCountingInspector);
+    }
+
+    @Bean
+    public WebMvcConfigurer statementCountConfigurer(StatementCountingInspector statementCountingInspector,
+                                                     MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new StatementCountInterceptor(statementCountingInspector, meterRegistry))
+                        .addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                             MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
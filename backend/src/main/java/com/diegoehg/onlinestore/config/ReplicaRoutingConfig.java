@@ -0,0 +1,80 @@
+package com.diegoehg.onlinestore.config;
+
+import com.diegoehg.onlinestore.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class for read replicas, enabled by listing their JDBC URLs in app.datasource.replicas.urls.
+ * The primary keeps its spring.datasource.* settings; read-only transactions are routed to the replicas
+ * by {@link ReplicaRoutingDataSource}, skipping the ones lagging more than app.datasource.replicas.max-lag.
+ * Replicas use the credentials of the primary unless app.datasource.replicas.username/password are set.
+ *
+ * Routing relies on spring.jpa.open-in-view=false: an EntityManager kept open for the whole request
+ * would keep the connection of its first transaction, and route every later one to the same database.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    // Zero while the replica has replayed everything it received, so idle replicas are not reported as lagging
+    private static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.replicas.maximum-pool-size:20}") int maximumPoolSize,
+            @Value("${app.datasource.replicas.max-lag:1s}") Duration maxLag,
+            @Value("${app.datasource.replicas.lag-check-interval:5s}") Duration lagCheckInterval,
+            @Value("${app.datasource.replicas.lag-query:}") String lagQuery) {
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // Do not fail the startup when a replica is down; it is skipped until it answers the lag check
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag,
+                lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery, lagCheckInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Connections are only requested on the first statement, once the transaction is known to be read-only
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
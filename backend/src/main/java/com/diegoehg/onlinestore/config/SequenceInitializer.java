@@ -0,0 +1,72 @@
+package com.diegoehg.onlinestore.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class that moves the ID sequences past the IDs already stored, before any data is
+ * written. Databases created when IDs came from identity columns already have rows, but
+ * Hibernate creates the sequences starting at 1, so new IDs would collide with existing ones.
+ *
+ * The sequences, and their allocation sizes, are read from the @SequenceGenerator mapping of every
+ * entity. Every value of a sequence is the highest ID of a block of allocation size IDs, so a
+ * sequence is restarted when the block of its next value could reach an existing ID.
+ * Checking a sequence takes one value from it, leaving a gap of one block in the IDs.
+ */
+@Configuration
+public class SequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CommandLineRunner initSequences(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SequenceSupport sequenceSupport = sessionFactory.getJdbcServices().getDialect().getSequenceSupport();
+
+        // Sequence, allocation size, table and ID column of every entity, as mapped by its @SequenceGenerator
+        List<IdSequence> sequences = new ArrayList<>();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                DatabaseStructure structure = generator.getDatabaseStructure();
+                sequences.add(new IdSequence(structure.getPhysicalName().render(), structure.getIncrementSize(),
+                        entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0]));
+            }
+        });
+
+        return args -> sequences.forEach(sequence -> {
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT MAX(" + sequence.idColumn() + ") FROM " + sequence.table(), Long.class);
+            if (maxId == null) {
+                return;
+            }
+
+            Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence.name()), Long.class);
+            if (next - sequence.allocationSize() < maxId) {
+                long restart = maxId + sequence.allocationSize();
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence.name() + " RESTART WITH " + restart);
+                logger.info("Sequence {} restarted at {}, past the highest ID of {} ({})",
+                        sequence.name(), restart, sequence.table(), maxId);
+            }
+        });
+    }
+
+    private record IdSequence(String name, int allocationSize, String table, String idColumn) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.diegoehg.onlinestore.config;
+
+import com.diegoehg.onlinestore.model.PaymentMethod;
+import com.diegoehg.onlinestore.model.Seller;
+import com.diegoehg.onlinestore.repository.PaymentMethodRepository;
+import com.diegoehg.onlinestore.repository.SellerRepository;
+import com.diegoehg.onlinestore.service.ProductImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Configuration class to seed the database with a large synthetic catalog, for load tests.
+ * It is enabled with app.synthetic-data.enabled=true and populates:
+ * - payment_methods (app.synthetic-data.payment-methods)
+ * - sellers and seller_payment_methods (app.synthetic-data.sellers, each accepting 1 to 5 payment methods)
+ * - products and product_images (app.synthetic-data.products, with 1 to app.synthetic-data.max-images images)
+ *
+ * The same seed (app.synthetic-data.seed) always generates the same catalog, so results of load
+ * tests can be compared between releases. It runs after {@link SequenceInitializer} and before
+ * {@link DataInitializer}, which then finds the database populated and skips the sample data.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.synthetic-data.enabled", havingValue = "true")
+public class SyntheticDataInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataInitializer.class);
+    private static final List<String> PAYMENT_METHOD_NAMES = List.of(
+            "VISA Credit Card", "MasterCard Debit Card", "PayPal", "Bank Transfer", "Apple Pay", "Google Pay",
+            "Cash on Delivery", "Gift Card", "American Express", "Store Credit", "Klarna", "Wire Transfer");
+    private static final int MAX_PAYMENT_METHODS_PER_SELLER = 5;
+    private static final int SELLER_BATCH_SIZE = 1000;
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public CommandLineRunner initSyntheticData(
+            SellerRepository sellerRepository,
+            PaymentMethodRepository paymentMethodRepository,
+            ProductImportService productImportService,
+            @Value("${app.synthetic-data.products:1000000}") long productCount,
+            @Value("${app.synthetic-data.sellers:5000}") int sellerCount,
+            @Value("${app.synthetic-data.payment-methods:12}") int paymentMethodCount,
+            @Value("${app.synthetic-data.max-images:8}") int maxImages,
+            @Value("${app.synthetic-data.seed:42}") long seed) {
+
+        return args -> {
+            if (sellerRepository.count() > 0) {
+                logger.info("Database already contains data. Skipping synthetic data.");
+                return;
+            }
+
+            logger.info("Generating synthetic catalog: {} products, {} sellers, {} payment methods (seed {})",
+                    productCount, sellerCount, paymentMethodCount, seed);
+            Random random = new Random(seed);
+
+            List<PaymentMethod> paymentMethods = new ArrayList<>();
+            for (int i = 0; i < paymentMethodCount; i++) {
+                String name = i < PAYMENT_METHOD_NAMES.size()
+                        ? PAYMENT_METHOD_NAMES.get(i)
+                        : "Payment Method " + (i + 1);
+                paymentMethods.add(new PaymentMethod(name));
+            }
+            paymentMethods = paymentMethodRepository.saveAll(paymentMethods);
+
+            // Map from the seller IDs used by the generated products (1 to sellerCount) to the persisted IDs
+            Map<Long, Long> sellerIdMap = new HashMap<>();
+            List<Seller> batch = new ArrayList<>(SELLER_BATCH_SIZE);
+            for (int i = 1; i <= sellerCount; i++) {
+                Seller seller = new Seller("Seller " + i);
+                List<PaymentMethod> accepted = new ArrayList<>(paymentMethods);
+                Collections.shuffle(accepted, random);
+                int acceptedCount = 1 + random.nextInt(Math.min(MAX_PAYMENT_METHODS_PER_SELLER, accepted.size()));
+                accepted.subList(0, acceptedCount).forEach(seller::addPaymentMethod);
+                batch.add(seller);
+
+                if (batch.size() == SELLER_BATCH_SIZE || i == sellerCount) {
+                    List<Seller> saved = sellerRepository.saveAll(batch);
+                    for (int j = 0; j < saved.size(); j++) {
+                        sellerIdMap.put((long) (i - saved.size() + j + 1), saved.get(j).getId());
+                    }
+                    batch.clear();
+                }
+            }
+
+            try (Reader reader = new SyntheticProductReader(productCount, sellerCount, maxImages, seed)) {
+                long imported = productImportService.importProducts(reader, sellerIdMap);
+                logger.info("Synthetic catalog generated with {} sellers and {} products", sellerCount, imported);
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.diegoehg.onlinestore.config;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reader that generates a synthetic product catalog in the CSV format of data/products.csv, one row
+ * at a time, so catalogs of millions of products can be streamed through the product importer without
+ * being held in memory. The output only depends on the seed, so catalogs can be reproduced.
+ *
+ * Sellers are skewed (a few sellers own most of the products) and so is the number of images per
+ * product (most products have 1 to 3, a few have up to the maximum), like real marketplace data.
+ */
+class SyntheticProductReader extends Reader {
+
+    private static final String HEADER = "product_title,description,price,seller_id,image_urls\n";
+    private static final List<String> ADJECTIVES = List.of(
+            "Premium", "Compact", "Wireless", "Ergonomic", "Portable", "Smart", "Classic", "Heavy-Duty",
+            "Lightweight", "Professional", "Eco", "Ultra", "Vintage", "Modular", "Rechargeable", "Deluxe");
+    private static final List<String> NOUNS = List.of(
+            "Laptop", "Headphones", "Backpack", "Coffee Maker", "Desk Lamp", "Keyboard", "Camera", "Blender",
+            "Smartwatch", "Speaker", "Monitor", "Water Bottle", "Running Shoes", "Jacket", "Drill", "Tent",
+            "Vacuum", "Router", "Chair", "Notebook");
+    private static final List<String> FEATURES = List.of(
+            "long battery life", "a durable aluminium body", "fast charging", "a two-year warranty",
+            "water resistance", "a minimalist design", "low power consumption", "an adjustable fit",
+            "premium materials", "easy assembly", "quiet operation", "a compact footprint");
+
+    private final long productCount;
+    private final int sellerCount;
+    private final int maxImages;
+    private final Random random;
+
+    private long nextProduct = 0;
+    private String current = HEADER;
+    private int position = 0;
+
+    /**
+     * @param productCount Number of products to generate
+     * @param sellerCount Number of sellers; seller IDs in the CSV go from 1 to sellerCount
+     * @param maxImages Maximum number of images of a product
+     * @param seed Seed of the random generator
+     */
+    SyntheticProductReader(long productCount, int sellerCount, int maxImages, long seed) {
+        this.productCount = productCount;
+        this.sellerCount = sellerCount;
+        this.maxImages = maxImages;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        int written = 0;
+        while (written < length) {
+            if (position == current.length()) {
+                if (nextProduct == productCount) {
+                    return written == 0 ? -1 : written;
+                }
+                current = nextRow(nextProduct++);
+                position = 0;
+            }
+            int count = Math.min(length - written, current.length() - position);
+            current.getChars(position, position + count, buffer, offset + written);
+            position += count;
+            written += count;
+        }
+        return written;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    private String nextRow(long index) {
+        String adjective = pick(ADJECTIVES);
+        String noun = pick(NOUNS);
+        String title = adjective + " " + noun + " " + (1000 + index);
+        int feature = random.nextInt(FEATURES.size());
+        int otherFeature = (feature + 1 + random.nextInt(FEATURES.size() - 1)) % FEATURES.size();
+        String description = "The " + adjective.toLowerCase() + " " + noun.toLowerCase() + " with "
+                + FEATURES.get(feature) + " and " + FEATURES.get(otherFeature) + ".";
+
+        // Log-normal prices: mostly tens of dollars, with a long tail of expensive products
+        BigDecimal price = BigDecimal.valueOf(Math.max(0.99, Math.exp(3.5 + random.nextGaussian())))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        // Squaring a uniform value skews the choice towards the first sellers and fewer images
+        int sellerId = 1 + (int) (sellerCount * Math.pow(random.nextDouble(), 2));
+        int imageCount = 1 + (int) (maxImages * Math.pow(random.nextDouble(), 2));
+
+        StringBuilder images = new StringBuilder();
+        for (int i = 1; i <= imageCount; i++) {
+            if (i > 1) {
+                images.append(';');
+            }
+            images.append("https://picsum.photos/seed/product").append(index).append('-').append(i).append("/800/600");
+        }
+
+        return title + "," + description + "," + price.toPlainString() + "," + sellerId + "," + images + "\n";
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.diegoehg.onlinestore.config;
+
+import com.diegoehg.onlinestore.datasource.ReplicaRoutingDataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class for the virtual-thread execution mode, enabled with spring.threads.virtual.enabled=true.
+ * Spring Boot then runs requests and async tasks on virtual threads, so Tomcat's thread pool no longer
+ * bounds concurrency. To avoid moving the bottleneck to the JDBC pool, the number of concurrent API
+ * requests is limited to a multiple of the pool size (app.request-limit.requests-per-connection).
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    // HikariCP's default maximum pool size
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${app.request-limit.requests-per-connection:8}") int requestsPerConnection,
+            @Value("${app.request-limit.acquire-timeout:2s}") Duration acquireTimeout) {
+
+        // With read replicas, the primary pool is the one every request may need
+        DataSource pool = dataSource instanceof LazyConnectionDataSourceProxy proxy
+                && proxy.getTargetDataSource() instanceof ReplicaRoutingDataSource routingDataSource
+                ? routingDataSource.getPrimary()
+                : dataSource;
+        int poolSize = pool instanceof HikariDataSource hikariDataSource
+                ? hikariDataSource.getMaximumPoolSize()
+                : DEFAULT_POOL_SIZE;
+        int maxConcurrentRequests = poolSize * requestsPerConnection;
+        logger.info("Virtual threads enabled; limiting API requests to {} at a time ({} connections x {})",
+                maxConcurrentRequests, poolSize, requestsPerConnection);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
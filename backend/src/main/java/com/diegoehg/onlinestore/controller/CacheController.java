@@ -0,0 +1,30 @@
+package com.diegoehg.onlinestore.controller;
+
+import com.diegoehg.onlinestore.dto.CacheStatsDTO;
+import com.diegoehg.onlinestore.model.Response;
+import com.diegoehg.onlinestore.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/caches")
+@CrossOrigin(origins = "*") // Allow requests from any origin for development
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    @Autowired
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Response<List<CacheStatsDTO>>> getCacheStats() {
+        List<CacheStatsDTO> cacheStats = cacheService.getCacheStats();
+        return ResponseEntity.ok(Response.success(cacheStats, HttpStatus.OK.value()));
+    }
+}
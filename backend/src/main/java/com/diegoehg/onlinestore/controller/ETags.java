@@ -0,0 +1,112 @@
+package com.diegoehg.onlinestore.controller;
+
+import com.diegoehg.onlinestore.model.PagedResponse;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Builds strong ETags for product responses from product versions.
+ * Representations with different bytes (binary formats, gzip content coding) get different ETags,
+ * as strong validators require: the name of the representation is appended to the version.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the ETag of a single product
+     * @param id The ID of the product
+     * @param version The version of the product
+     * @return The quoted ETag
+     */
+    static String forProduct(Long id, Long version) {
+        return forProduct(id, version, null);
+    }
+
+    /**
+     * Builds the ETag of a representation of a single product
+     * @param id The ID of the product
+     * @param version The version of the product
+     * @param representation The name of the representation (see {@link #representation}), null for plain JSON
+     * @return The quoted ETag
+     */
+    static String forProduct(Long id, Long version, String representation) {
+        return "\"" + id + "-" + version + suffix(representation) + "\"";
+    }
+
+    /**
+     * Names a representation of a response
+     * @param binaryFormat The binary format of the response (CBOR or Smile), null for JSON
+     * @param gzip Whether the response has the gzip content coding
+     * @return The name of the representation, null for plain JSON
+     */
+    static String representation(MediaType binaryFormat, boolean gzip) {
+        if (binaryFormat != null) {
+            return binaryFormat.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR) ? "cbor" : "smile";
+        }
+        return gzip ? "gz" : null;
+    }
+
+    /**
+     * Extracts the version of a product from an If-Match header holding its ETag, of any representation.
+     * Weak ETags never match, since If-Match requires a strong comparison.
+     * @param id The ID of the product
+     * @param ifMatch The value of the If-Match header
+     * @return The version, or null if the header holds no ETag of this product
+     */
+    static Long versionFromIfMatch(Long id, String ifMatch) {
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith(prefix) && trimmed.endsWith("\"") && trimmed.length() > prefix.length() + 1) {
+                String version = trimmed.substring(prefix.length(), trimmed.length() - 1);
+                int representation = version.indexOf('-');
+                try {
+                    return Long.parseLong(representation < 0 ? version : version.substring(0, representation));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the ETag of a page of products. The maximum version alone is not enough,
+     * since versions are per product and pages also change when products are added or
+     * removed, so the ETag is a digest of the totals and every (ID, version) pair.
+     * @param page The page of products
+     * @param id Function that extracts the ID of a product
+     * @param version Function that extracts the version of a product
+     * @return The quoted ETag
+     */
+    static <T> String forPage(PagedResponse<T> page, Function<T, Long> id, Function<T, Long> version) {
+        return forPage(page, id, version, null);
+    }
+
+    /**
+     * Builds the ETag of a representation of a page of products, see {@link #forPage(PagedResponse, Function, Function)}
+     * @param representation The name of the representation (see {@link #representation}), null for plain JSON
+     * @return The quoted ETag
+     */
+    static <T> String forPage(PagedResponse<T> page, Function<T, Long> id, Function<T, Long> version,
+                              String representation) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(page.getPage()).append('/')
+                .append(page.getSize()).append('/')
+                .append(page.getTotalElements());
+        for (T item : page.getContent()) {
+            fingerprint.append(';').append(id.apply(item)).append('-').append(version.apply(item));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8))
+                + suffix(representation) + "\"";
+    }
+
+    private static String suffix(String representation) {
+        return representation == null ? "" : "-" + representation;
+    }
+}
@@ -1,42 +1,220 @@
 package com.diegoehg.onlinestore.controller;
 
+import com.diegoehg.onlinestore.config.BinaryFormatsConfig;
+import com.diegoehg.onlinestore.dto.BatchItemResultDTO;
+import com.diegoehg.onlinestore.dto.ProductChangeDTO;
 import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.dto.ProductFilter;
+import com.diegoehg.onlinestore.dto.ProductPatchDTO;
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
+import com.diegoehg.onlinestore.dto.ProductVersionDTO;
+import com.diegoehg.onlinestore.event.ProductChangeFeed;
+import com.diegoehg.onlinestore.exception.BadRequestException;
+import com.diegoehg.onlinestore.exception.PreconditionFailedException;
+import com.diegoehg.onlinestore.model.ChangeLogResponse;
+import com.diegoehg.onlinestore.model.ExportFormat;
+import com.diegoehg.onlinestore.model.MultiGetResponse;
+import com.diegoehg.onlinestore.model.PagedResponse;
 import com.diegoehg.onlinestore.model.Response;
+import com.diegoehg.onlinestore.service.ProductExportService;
 import com.diegoehg.onlinestore.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "*") // Allow requests from any origin for development
 public class ProductController {
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductResponseCache productResponseCache;
+    private final ProductReadCoalescer productReadCoalescer;
+    private final ProductChangeFeed productChangeFeed;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             ProductResponseCache productResponseCache, ProductReadCoalescer productReadCoalescer,
+                             ProductChangeFeed productChangeFeed) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productResponseCache = productResponseCache;
+        this.productReadCoalescer = productReadCoalescer;
+        this.productChangeFeed = productChangeFeed;
     }
 
     @GetMapping
     public ResponseEntity<Response<?>> getAllProducts(
+            @RequestParam(value = "page", defaultValue = "1") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sellerId", required = false) Long sellerId,
+            @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(value = "paymentMethodId", required = false) Long paymentMethodId,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            WebRequest webRequest) {
+
+        ProductFilter filter = new ProductFilter(sellerId, minPrice, maxPrice, paymentMethodId, sort, direction);
+
+        MediaType binaryFormat = preferredBinaryFormat(webRequest.getHeader(HttpHeaders.ACCEPT));
+        String representation = ETags.representation(binaryFormat, false);
+
+        // Conditional requests are checked against the versions only, before loading the products
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            PagedResponse<ProductVersionDTO> versions =
+                    productReadCoalescer.getProductVersionsPaginated(page, size, filter);
+            if (webRequest.checkNotModified(
+                    ETags.forPage(versions, ProductVersionDTO::getId, ProductVersionDTO::getVersion, representation))) {
+                return null;
+            }
+        }
+
+        PagedResponse<ProductDTO> products = productReadCoalescer.getProductsPaginated(page, size, filter);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(ETags.forPage(products, ProductDTO::getId, ProductDTO::getVersion, representation))
+                .varyBy(HttpHeaders.ACCEPT);
+        if (binaryFormat != null) {
+            // Pins the converter, so the body is in the format its ETag names
+            response.contentType(binaryFormat);
+        }
+        return response.body(Response.success(products, HttpStatus.OK.value()));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<Response<?>> getProductsAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sellerId", required = false) Long sellerId,
+            @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(value = "paymentMethodId", required = false) Long paymentMethodId,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+
+        ProductFilter filter = new ProductFilter(sellerId, minPrice, maxPrice, paymentMethodId, sort, direction);
+        return ResponseEntity.ok(Response.success(
+            productService.getProductsAfter(after, size, filter),
+            HttpStatus.OK.value())
+        );
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Response<MultiGetResponse<ProductDTO>>> getProductsByIds(
+            @RequestParam(value = "ids") List<Long> ids) {
+
+        return ResponseEntity.ok(Response.success(
+            productService.getProductsByIds(ids),
+            HttpStatus.OK.value())
+        );
+    }
+
+    /**
+     * Streams product changes as Server-Sent Events. Browsers reconnecting with EventSource send
+     * the Last-Event-ID header, and get the changes they missed in the meantime.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return productChangeFeed.subscribe(lastEventId);
+    }
+
+    @GetMapping(value = "/changes", params = "since")
+    public ResponseEntity<Response<ChangeLogResponse<ProductChangeDTO>>> getChangesSince(
+            @RequestParam(value = "since") long since) {
+
+        return ResponseEntity.ok(Response.success(
+            productChangeFeed.getChangesSince(since),
+            HttpStatus.OK.value())
+        );
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<Response<?>> getProductSummaries(
             @RequestParam(value = "page", defaultValue = "1") int page,
             @RequestParam(value = "size", defaultValue = "10") int size) {
-        
+
         return ResponseEntity.ok(Response.success(
-            productService.getProductsPaginated(page, size), 
+            productService.getProductSummariesPaginated(page, size),
             HttpStatus.OK.value())
         );
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Response<List<ProductSummaryDTO>>> searchProducts(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+        List<ProductSummaryDTO> products = productService.searchProducts(query, limit);
+        return ResponseEntity.ok(Response.success(products, HttpStatus.OK.value()));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(value = "format", defaultValue = "ndjson") String formatName) {
+
+        ExportFormat format = parseExportFormat(formatName);
+        MediaType mediaType = format == ExportFormat.CSV
+                ? new MediaType("text", "csv")
+                : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody body = outputStream -> productExportService.exportProducts(format, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Response<ProductDTO>> getProductById(@PathVariable Long id) {
-        ProductDTO product = productService.getProductById(id);
-        return ResponseEntity.ok(Response.success(product, HttpStatus.OK.value()));
+    public ResponseEntity<?> getProductById(@PathVariable Long id, WebRequest webRequest) {
+        MediaType binaryFormat = preferredBinaryFormat(webRequest.getHeader(HttpHeaders.ACCEPT));
+        boolean gzip = binaryFormat == null && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String representation = ETags.representation(binaryFormat, gzip);
+
+        // Conditional requests are checked against the version only, before loading the product
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null && webRequest.checkNotModified(
+                ETags.forProduct(id, productService.getProductVersion(id), representation))) {
+            return null;
+        }
+
+        // Binary formats are encoded by their message converters
+        if (binaryFormat != null) {
+            ProductDTO product = productReadCoalescer.getProductById(id);
+            return ResponseEntity.ok()
+                    .contentType(binaryFormat)
+                    .eTag(ETags.forProduct(product.getId(), product.getVersion(), representation))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(Response.success(product, HttpStatus.OK.value()));
+        }
+
+        // JSON is written from pre-rendered bytes
+        ProductResponseCache.RenderedProduct product = productResponseCache.get(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(ETags.forProduct(product.getId(), product.getVersion(), representation))
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(product.getGzippedJson());
+        }
+        return response.body(product.getJson());
     }
 
     @PostMapping
@@ -46,16 +224,146 @@ public class ProductController {
                 .body(Response.success(savedProduct, HttpStatus.CREATED.value()));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResultDTO>>> saveProducts(@RequestBody List<ProductDTO> productDTOs) {
+        // Every product is validated by the service, which reports the invalid ones per item
+        List<BatchItemResultDTO> results = productService.saveProducts(productDTOs);
+        return ResponseEntity.ok(Response.success(results, HttpStatus.OK.value()));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Response<ProductDTO>> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO) {
+    public ResponseEntity<Response<ProductDTO>> updateProduct(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductDTO productDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        if (expectedVersion != null) {
+            return writtenProduct(id, productService.updateProductIfMatch(id, expectedVersion, productDTO), prefer);
+        }
+
         ProductDTO updatedProduct = productService.updateProduct(id, productDTO);
         return ResponseEntity.ok(Response.success(updatedProduct, HttpStatus.OK.value()));
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Response<ProductDTO>> patchProduct(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductPatchDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        if (expectedVersion != null) {
+            return writtenProduct(id, productService.patchProductIfMatch(id, expectedVersion, patch), prefer);
+        }
+
+        ProductDTO patchedProduct = productService.patchProduct(id, patch);
+        return ResponseEntity.ok(Response.success(patchedProduct, HttpStatus.OK.value()));
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Response<Void>> deleteProduct(@PathVariable Long id) {
-        productService.deleteProduct(id);
+    public ResponseEntity<Response<Void>> deleteProduct(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        if (expectedVersion != null) {
+            productService.deleteProductIfMatch(id, expectedVersion);
+        } else {
+            productService.deleteProduct(id);
+        }
         return ResponseEntity.status(HttpStatus.NO_CONTENT)
                 .body(Response.success(null, HttpStatus.NO_CONTENT.value()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the product version a conditional write is based on, from the ETag in If-Match
+     * @return The version, or null for unconditional writes (no If-Match, or If-Match: *)
+     * @throws PreconditionFailedException if If-Match holds no ETag of this product, so it cannot match
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Long version = ETags.versionFromIfMatch(id, ifMatch);
+        if (version == null) {
+            throw new PreconditionFailedException("Product", String.valueOf(id));
+        }
+        return version;
+    }
+
+    /**
+     * Builds the response of a conditional write. With Prefer: return=minimal only the new ETag is
+     * returned, which saves reading the product back; otherwise the updated product is returned too.
+     */
+    private ResponseEntity<Response<ProductDTO>> writtenProduct(Long id, Long version, String prefer) {
+        if (prefer != null && prefer.toLowerCase(Locale.ROOT).contains("return=minimal")) {
+            return ResponseEntity.noContent()
+                    .eTag(ETags.forProduct(id, version))
+                    .header(PREFERENCE_APPLIED, "return=minimal")
+                    .build();
+        }
+
+        ProductDTO product = productService.getProductById(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.forProduct(id, product.getVersion()))
+                .body(Response.success(product, HttpStatus.OK.value()));
+    }
+
+    /**
+     * Selects the binary format the client prefers to JSON, if any. Wildcards resolve to JSON, the default format.
+     * @return CBOR or Smile, or null if JSON is to be returned
+     */
+    private static MediaType preferredBinaryFormat(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        // Stable sort, so equally preferred formats keep the order given by the client
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (mediaType.equalsTypeAndSubtype(BinaryFormatsConfig.APPLICATION_SMILE)) {
+                return BinaryFormatsConfig.APPLICATION_SMILE;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" explicitly refuses gzip
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static ExportFormat parseExportFormat(String formatName) {
+        try {
+            return ExportFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported export format: " + formatName);
+        }
+    }
+}
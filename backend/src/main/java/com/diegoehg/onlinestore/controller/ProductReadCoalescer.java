@@ -0,0 +1,99 @@
+package com.diegoehg.onlinestore.controller;
+
+import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.dto.ProductFilter;
+import com.diegoehg.onlinestore.dto.ProductVersionDTO;
+import com.diegoehg.onlinestore.event.ProductChangedEvent;
+import com.diegoehg.onlinestore.model.PagedResponse;
+import com.diegoehg.onlinestore.service.ProductService;
+import com.diegoehg.onlinestore.service.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Product reads of the API, with concurrent identical requests sharing a single load
+ * (see {@link SingleFlight}): a burst of requests for the same product or listing page runs
+ * one set of queries and holds one connection, instead of one per request.
+ *
+ * Loads are coalesced before ProductService opens its transaction, so waiting requests never take
+ * a connection. Once a product changes, requests no longer join loads started before the change.
+ */
+@Component
+public class ProductReadCoalescer {
+
+    private final ProductService productService;
+    private final SingleFlight<Long, ProductDTO> products;
+    private final SingleFlight<ListingKey, PagedResponse<ProductDTO>> listings;
+    private final SingleFlight<ListingKey, PagedResponse<ProductVersionDTO>> listingVersions;
+
+    @Autowired
+    public ProductReadCoalescer(ProductService productService,
+                                @Value("${app.single-flight.timeout:5s}") Duration timeout) {
+        this.productService = productService;
+        this.products = new SingleFlight<>("Product", timeout);
+        this.listings = new SingleFlight<>("Product listing", timeout);
+        this.listingVersions = new SingleFlight<>("Product listing", timeout);
+    }
+
+    /**
+     * Retrieves a product by ID, sharing the load with concurrent requests for the same product
+     * @param id The ID of the product
+     * @return The product
+     */
+    public ProductDTO getProductById(Long id) {
+        return products.load(id, () -> productService.getProductById(id));
+    }
+
+    /**
+     * Retrieves a page of products, sharing the load with concurrent requests for the same page and filter
+     * @param page Page number (1-based)
+     * @param size Number of items per page
+     * @param filter Filter and sort criteria
+     * @return Paginated response with products
+     */
+    public PagedResponse<ProductDTO> getProductsPaginated(int page, int size, ProductFilter filter) {
+        return listings.load(ListingKey.of(page, size, filter),
+                () -> productService.getProductsPaginated(page, size, filter));
+    }
+
+    /**
+     * Retrieves the IDs and versions of a page of products, sharing the load with concurrent
+     * requests for the same page and filter
+     * @param page Page number (1-based)
+     * @param size Number of items per page
+     * @param filter Filter and sort criteria
+     * @return Paginated response with product versions
+     */
+    public PagedResponse<ProductVersionDTO> getProductVersionsPaginated(int page, int size, ProductFilter filter) {
+        return listingVersions.load(ListingKey.of(page, size, filter),
+                () -> productService.getProductVersionsPaginated(page, size, filter));
+    }
+
+    /**
+     * Detaches the loads in flight that may miss a committed change
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        event.getProductIds().forEach(products::forget);
+        // Any change can move products across pages
+        listings.forgetAll();
+        listingVersions.forgetAll();
+    }
+
+    /**
+     * Identifies a listing page: requests with the same key get the same products
+     */
+    record ListingKey(int page, int size, Long sellerId, BigDecimal minPrice, BigDecimal maxPrice,
+                      Long paymentMethodId, String sortBy, String direction) {
+
+        static ListingKey of(int page, int size, ProductFilter filter) {
+            return new ListingKey(page, size, filter.getSellerId(), filter.getMinPrice(), filter.getMaxPrice(),
+                    filter.getPaymentMethodId(), filter.getSortBy(), filter.getDirection());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.diegoehg.onlinestore.controller;
+
+import com.diegoehg.onlinestore.config.CacheConfig;
+import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.event.ProductChangedEvent;
+import com.diegoehg.onlinestore.model.Response;
+import com.diegoehg.onlinestore.service.ProductService;
+import com.diegoehg.onlinestore.service.SingleFlight;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of fully rendered product detail responses: the JSON bytes of Response.success(product)
+ * and their gzip-compressed form. A hit is written as is, without mapping or serializing anything.
+ * Entries are evicted by ProductService on updates and deletes, like the product cache, and
+ * responses rendered before an eviction are not cached (see CacheConfig).
+ * Concurrent misses for the same product share a single load and rendering (see {@link SingleFlight}).
+ */
+@Component
+public class ProductResponseCache {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final SingleFlight<Long, RenderedProduct> renderings;
+
+    @Autowired
+    public ProductResponseCache(ProductService productService, ObjectMapper objectMapper, CacheManager cacheManager,
+                                @Value("${app.single-flight.timeout:5s}") Duration timeout) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.renderings = new SingleFlight<>("Product", timeout);
+    }
+
+    /**
+     * Retrieves the rendered detail response of a product, rendering and caching it on a miss
+     * @param id The ID of the product
+     * @return The rendered response
+     */
+    public RenderedProduct get(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCT_RESPONSE_CACHE);
+        RenderedProduct cached = cache != null ? cache.get(id, RenderedProduct.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        // Not loaded through the cache's value loader, which would wrap ResourceNotFoundException
+        return renderings.load(id, () -> {
+            RenderedProduct rendered = render(productService.getProductById(id));
+            if (cache != null) {
+                cache.put(id, rendered);
+            }
+            return rendered;
+        });
+    }
+
+    /**
+     * Detaches the renderings in flight for changed products, so later requests do not get them
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        event.getProductIds().forEach(renderings::forget);
+    }
+
+    private RenderedProduct render(ProductDTO product) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(Response.success(product, HttpStatus.OK.value()));
+            return new RenderedProduct(product.getId(), product.getVersion(), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render product " + product.getId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Rendered detail response of a product at a given version
+     */
+    public static final class RenderedProduct {
+        private final Long id;
+        private final Long version;
+        private final byte[] json;
+        private final byte[] gzippedJson;
+
+        public RenderedProduct(Long id, Long version, byte[] json, byte[] gzippedJson) {
+            this.id = id;
+            this.version = version;
+            this.json = json;
+            this.gzippedJson = gzippedJson;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzippedJson() {
+            return gzippedJson;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.diegoehg.onlinestore.controller;
 
 import com.diegoehg.onlinestore.dto.SellerDTO;
+import com.diegoehg.onlinestore.dto.SellerDetailDTO;
+import com.diegoehg.onlinestore.dto.SellerSummaryDTO;
+import com.diegoehg.onlinestore.model.PagedResponse;
 import com.diegoehg.onlinestore.model.Response;
 import com.diegoehg.onlinestore.service.SellerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +19,8 @@ import java.util.List;
 @CrossOrigin(origins = "*") // Allow requests from any origin for development
 public class SellerController {
 
+    private static final String DEPRECATION = "Deprecation";
+
     private final SellerService sellerService;
 
     @Autowired
@@ -22,9 +28,35 @@ public class SellerController {
         this.sellerService = sellerService;
     }
 
+    /**
+     * Lists the first sellers by ID (see {@link SellerService#MAX_LISTED_SELLERS}), with their payment methods.
+     * Responses carry a Deprecation header and a link to the paginated seller directory, which replaces it.
+     * @deprecated Use GET /api/sellers?page={page}
+     */
+    @Deprecated
     @GetMapping
     public ResponseEntity<Response<List<SellerDTO>>> getAllSellers() {
         List<SellerDTO> sellers = sellerService.getAllSellers();
-        return ResponseEntity.ok(Response.success(sellers, HttpStatus.OK.value()));
+        return ResponseEntity.ok()
+                .header(DEPRECATION, "true")
+                .header(HttpHeaders.LINK, "</api/sellers?page=1>; rel=\"successor-version\"")
+                .body(Response.success(sellers, HttpStatus.OK.value()));
+    }
+
+    @GetMapping(params = "page")
+    public ResponseEntity<Response<PagedResponse<SellerSummaryDTO>>> getSellerSummaries(
+            @RequestParam(value = "page", defaultValue = "1") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(Response.success(
+            sellerService.getSellerSummariesPaginated(page, size),
+            HttpStatus.OK.value())
+        );
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Response<SellerDetailDTO>> getSellerById(@PathVariable Long id) {
+        SellerDetailDTO seller = sellerService.getSellerById(id);
+        return ResponseEntity.ok(Response.success(seller, HttpStatus.OK.value()));
     }
-}
\ No newline at end of file
+}
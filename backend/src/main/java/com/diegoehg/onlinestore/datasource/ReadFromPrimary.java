@@ -0,0 +1,20 @@
+package com.diegoehg.onlinestore.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks read-only methods that have to read from the primary database instead of a replica,
+ * because they must see writes that were just committed (e.g. reloads after a commit, or reads
+ * whose result is cached, since a stale replica read would stay in the cache until evicted), and
+ * long-running reads that a replica could cancel on conflicts with replication.
+ * It has no effect when no replicas are configured.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
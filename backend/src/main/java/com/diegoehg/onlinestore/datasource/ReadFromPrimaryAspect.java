@@ -0,0 +1,28 @@
+package com.diegoehg.onlinestore.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pins the methods annotated with {@link ReadFromPrimary} to the primary database. It runs before
+ * the transaction interceptor, so the transaction gets its connection from the primary.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.diegoehg.onlinestore.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.pinToPrimary(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.pinToPrimary(previous);
+        }
+    }
+}
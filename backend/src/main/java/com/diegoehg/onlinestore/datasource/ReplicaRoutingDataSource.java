@@ -0,0 +1,164 @@
+package com.diegoehg.onlinestore.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source that sends read-only transactions to read replicas and everything else to the primary.
+ *
+ * Read-only transactions (@Transactional(readOnly = true)) are spread round-robin over the replicas
+ * whose replication lag is within the maximum lag; writes, reads inside write transactions and
+ * reads annotated with {@link ReadFromPrimary} use the primary. When no replica is in sync, every
+ * read falls back to the primary. The lag of every replica is measured periodically with a query
+ * returning it in seconds.
+ *
+ * The routing decision is taken when a connection is requested, so this data source has to be
+ * wrapped in a LazyConnectionDataSourceProxy: the connection is then only requested on the first
+ * statement, once the transaction is known to be read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> pinnedToPrimary = ThreadLocal.withInitial(() -> false);
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Duration lagCheckInterval;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> inSyncReplicas = List.of();
+    private ScheduledExecutorService lagChecker;
+
+    /**
+     * @param primary The primary data source
+     * @param replicas The replica data sources by name
+     * @param maxLag Maximum replication lag of the replicas that serve reads
+     * @param lagQuery Query returning the replication lag of a replica, in seconds
+     * @param lagCheckInterval Time between lag checks; if zero, lags are only checked by {@link #checkReplicas()}
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    String lagQuery, Duration lagCheckInterval) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.lagCheckInterval = lagCheckInterval;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (!lagCheckInterval.isZero()) {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Until their first check, replicas are not trusted and reads use the primary
+            lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (pinnedToPrimary.get() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+
+        List<String> candidates = inSyncReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measures the lag of every replica, and keeps serving reads only from the ones within the maximum lag
+     */
+    public void checkReplicas() {
+        List<String> inSync = new ArrayList<>();
+        replicas.forEach((name, replica) -> {
+            try (Connection connection = replica.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+                if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                    inSync.add(name);
+                } else {
+                    logger.warn("Replica {} is {}s behind the primary; reading from other data sources", name, lagSeconds);
+                }
+            } catch (SQLException e) {
+                logger.warn("Replica {} is unavailable; reading from other data sources: {}", name, e.getMessage());
+            }
+        });
+
+        if (!inSync.equals(inSyncReplicas)) {
+            logger.info("Read-only transactions routed to replicas {}", inSync.isEmpty() ? "[none, using primary]" : inSync);
+        }
+        inSyncReplicas = List.copyOf(inSync);
+    }
+
+    /**
+     * @return The names of the replicas currently serving reads
+     */
+    public List<String> getInSyncReplicas() {
+        return inSyncReplicas;
+    }
+
+    /**
+     * @return The primary data source
+     */
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Makes the transactions started by the current thread use the primary, even if they are read-only
+     * @param pinned Whether to pin the current thread to the primary
+     * @return Whether it was pinned before, to restore it afterwards
+     */
+    static boolean pinToPrimary(boolean pinned) {
+        boolean previous = pinnedToPrimary.get();
+        pinnedToPrimary.set(pinned);
+        return previous;
+    }
+}
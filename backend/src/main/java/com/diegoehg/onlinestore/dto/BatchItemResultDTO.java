@@ -0,0 +1,80 @@
+package com.diegoehg.onlinestore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object with the outcome of one item of a batch write
+ */
+public class BatchItemResultDTO {
+
+    /**
+     * Outcome of a batch item
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        INVALID,
+        NOT_FOUND
+    }
+
+    private int index;
+    private Long id;
+    private Long version;
+    private Status status;
+    private List<String> errors = new ArrayList<>();
+
+    // Default constructor
+    public BatchItemResultDTO() {
+    }
+
+    // Constructor with fields
+    public BatchItemResultDTO(int index, Long id, Long version, Status status, List<String> errors) {
+        this.index = index;
+        this.id = id;
+        this.version = version;
+        this.status = status;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
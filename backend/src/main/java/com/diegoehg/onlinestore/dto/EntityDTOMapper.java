@@ -3,6 +3,8 @@ package com.diegoehg.onlinestore.dto;
 import com.diegoehg.onlinestore.model.PaymentMethod;
 import com.diegoehg.onlinestore.model.Product;
 import com.diegoehg.onlinestore.model.Seller;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -12,6 +14,13 @@ import java.util.stream.Collectors;
  */
 public class EntityDTOMapper {
 
+    // Registered in the global registry, which Spring Boot links to the application registry
+    private static final Timer PRODUCT_LIST_MAPPING_TIMER = Timer.builder("onlinestore.mapping")
+            .description("Time spent mapping entities to DTOs, including the lazy loads it triggers")
+            .tag("method", "toProductDTOList")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(Metrics.globalRegistry);
+
     /**
      * Converts a Product entity to a ProductDTO
      * @param product The Product entity to convert
@@ -28,6 +37,7 @@ public class EntityDTOMapper {
         productDTO.setDescription(product.getDescription());
         productDTO.setImages(product.getImages());
         productDTO.setPrice(product.getPrice());
+        productDTO.setVersion(product.getVersion());
         
         if (product.getSeller() != null) {
             productDTO.setSeller(toSellerDTO(product.getSeller()));
@@ -46,9 +56,9 @@ public class EntityDTOMapper {
             return List.of();
         }
         
-        return products.stream()
+        return PRODUCT_LIST_MAPPING_TIMER.record(() -> products.stream()
                 .map(EntityDTOMapper::toProductDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
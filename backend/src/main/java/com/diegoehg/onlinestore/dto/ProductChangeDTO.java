@@ -0,0 +1,73 @@
+package com.diegoehg.onlinestore.dto;
+
+import com.diegoehg.onlinestore.event.ProductChangedEvent;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a committed product change, as published by the change feed.
+ * The product is included for creations and updates, so clients can apply the change
+ * without fetching it; it is null for deletions.
+ */
+public class ProductChangeDTO {
+    private long sequence;
+    private ProductChangedEvent.ChangeType type;
+    private Long productId;
+    private ProductDTO product;
+    private Instant changedAt;
+
+    // Default constructor
+    public ProductChangeDTO() {
+    }
+
+    // Constructor with fields
+    public ProductChangeDTO(long sequence, ProductChangedEvent.ChangeType type, Long productId,
+                            ProductDTO product, Instant changedAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public ProductChangedEvent.ChangeType getType() {
+        return type;
+    }
+
+    public void setType(ProductChangedEvent.ChangeType type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public ProductDTO getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductDTO product) {
+        this.product = product;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -35,6 +35,8 @@ public class ProductDTO {
     @Valid
     private SellerDTO seller;
 
+    private Long version;
+
     // Default constructor
     public ProductDTO() {
     }
@@ -97,4 +99,12 @@ public class ProductDTO {
     public void setSeller(SellerDTO seller) {
         this.seller = seller;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.diegoehg.onlinestore.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Filter and sort criteria for product listings. Every criterion is optional.
+ */
+public class ProductFilter {
+    private Long sellerId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Long paymentMethodId;
+    private String sortBy = "id";
+    private String direction = "asc";
+
+    // Default constructor
+    public ProductFilter() {
+    }
+
+    // Constructor with fields
+    public ProductFilter(Long sellerId, BigDecimal minPrice, BigDecimal maxPrice, Long paymentMethodId,
+                         String sortBy, String direction) {
+        this.sellerId = sellerId;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.paymentMethodId = paymentMethodId;
+        this.sortBy = sortBy;
+        this.direction = direction;
+    }
+
+    /**
+     * Tells whether any filter criterion is set (sorting aside)
+     * @return true if the listing has to be filtered
+     */
+    public boolean hasCriteria() {
+        return sellerId != null || minPrice != null || maxPrice != null || paymentMethodId != null;
+    }
+
+    // Getters and Setters
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Long getPaymentMethodId() {
+        return paymentMethodId;
+    }
+
+    public void setPaymentMethodId(Long paymentMethodId) {
+        this.paymentMethodId = paymentMethodId;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+}
@@ -0,0 +1,88 @@
+package com.diegoehg.onlinestore.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for a partial update of a Product.
+ * Only the fields that are present (not null) are applied; the constraints of {@link ProductDTO}
+ * hold for the fields that are present.
+ */
+public class ProductPatchDTO {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title cannot be blank")
+    @Size(max = 255, message = "Title must be less than 255 characters")
+    private String title;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description cannot be blank")
+    @Size(max = 2000, message = "Description must be less than 2000 characters")
+    private String description;
+
+    private List<@NotBlank(message = "Image URLs cannot be blank") String> images;
+
+    @Positive(message = "Price must be greater than zero")
+    private BigDecimal price;
+
+    @Valid
+    private SellerDTO seller;
+
+    // Default constructor
+    public ProductPatchDTO() {
+    }
+
+    // Constructor with fields
+    public ProductPatchDTO(String title, String description, List<String> images, BigDecimal price, SellerDTO seller) {
+        this.title = title;
+        this.description = description;
+        this.images = images;
+        this.price = price;
+        this.seller = seller;
+    }
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<String> getImages() {
+        return images;
+    }
+
+    public void setImages(List<String> images) {
+        this.images = images;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public SellerDTO getSeller() {
+        return seller;
+    }
+
+    public void setSeller(SellerDTO seller) {
+        this.seller = seller;
+    }
+}
@@ -0,0 +1,79 @@
+package com.diegoehg.onlinestore.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object with the summary of a Product, as shown in a catalog card.
+ * It is built directly by a projection query, without loading Product or Seller entities.
+ */
+public class ProductSummaryDTO {
+    private Long id;
+    private String title;
+    private BigDecimal price;
+    private String image;
+    private Long sellerId;
+    private String sellerName;
+
+    // Default constructor
+    public ProductSummaryDTO() {
+    }
+
+    // Constructor with fields
+    public ProductSummaryDTO(Long id, String title, BigDecimal price, String image, Long sellerId, String sellerName) {
+        this.id = id;
+        this.title = title;
+        this.price = price;
+        this.image = image;
+        this.sellerId = sellerId;
+        this.sellerName = sellerName;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public String getSellerName() {
+        return sellerName;
+    }
+
+    public void setSellerName(String sellerName) {
+        this.sellerName = sellerName;
+    }
+}
@@ -0,0 +1,37 @@
+package com.diegoehg.onlinestore.dto;
+
+/**
+ * Data Transfer Object for the version of a Product, used to build ETags
+ * without loading the whole product
+ */
+public class ProductVersionDTO {
+    private Long id;
+    private Long version;
+
+    // Default constructor
+    public ProductVersionDTO() {
+    }
+
+    // Constructor with fields
+    public ProductVersionDTO(Long id, Long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
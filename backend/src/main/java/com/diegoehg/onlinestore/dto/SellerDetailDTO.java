@@ -0,0 +1,81 @@
+package com.diegoehg.onlinestore.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object with the details of a Seller: its payment methods, product count and price range
+ */
+public class SellerDetailDTO {
+    private Long id;
+    private String name;
+    private List<PaymentMethodDTO> paymentMethods = new ArrayList<>();
+    private long productCount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    // Default constructor
+    public SellerDetailDTO() {
+    }
+
+    // Constructor with all fields
+    public SellerDetailDTO(Long id, String name, List<PaymentMethodDTO> paymentMethods,
+                           long productCount, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.id = id;
+        this.name = name;
+        this.paymentMethods = paymentMethods;
+        this.productCount = productCount;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<PaymentMethodDTO> getPaymentMethods() {
+        return paymentMethods;
+    }
+
+    public void setPaymentMethods(List<PaymentMethodDTO> paymentMethods) {
+        this.paymentMethods = paymentMethods;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(long productCount) {
+        this.productCount = productCount;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
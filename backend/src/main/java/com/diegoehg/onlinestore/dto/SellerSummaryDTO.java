@@ -0,0 +1,69 @@
+package com.diegoehg.onlinestore.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object with the summary of a Seller for the seller directory: its product count
+ * and price range. It is built directly by an aggregate query, without loading Seller or Product entities.
+ */
+public class SellerSummaryDTO {
+    private Long id;
+    private String name;
+    private long productCount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    // Default constructor
+    public SellerSummaryDTO() {
+    }
+
+    // Constructor with fields
+    public SellerSummaryDTO(Long id, String name, long productCount, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.id = id;
+        this.name = name;
+        this.productCount = productCount;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(long productCount) {
+        this.productCount = productCount;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
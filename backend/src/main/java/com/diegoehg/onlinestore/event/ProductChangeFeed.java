@@ -0,0 +1,275 @@
+package com.diegoehg.onlinestore.event;
+
+import com.diegoehg.onlinestore.datasource.ReadFromPrimary;
+import com.diegoehg.onlinestore.dto.EntityDTOMapper;
+import com.diegoehg.onlinestore.dto.ProductChangeDTO;
+import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.model.ChangeLogResponse;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Feed of committed product changes, built from {@link ProductChangedEvent}s.
+ *
+ * Every change gets a sequence number and is kept in a bounded history
+ * (app.product-changes.history), from which clients get the changes since a sequence number.
+ * Changes are also pushed to Server-Sent Events subscribers. Each subscriber has a bounded buffer
+ * (app.product-changes.subscriber-buffer) drained by its own virtual thread, so a slow client never
+ * delays writes nor other clients: when its buffer overflows, the buffered changes are dropped and
+ * the client gets a reset event telling it to reload the data it holds.
+ *
+ * The feed is kept in memory, so sequence numbers start over when the server restarts.
+ */
+@Component
+public class ProductChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeFeed.class);
+    static final String CONNECTED_EVENT = "connected";
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    private final ProductRepository productRepository;
+    private final int historySize;
+    private final int subscriberBufferSize;
+    private final Duration subscriptionTimeout;
+
+    private final Deque<ProductChangeDTO> history = new ArrayDeque<>();
+    private long latestSequence = 0;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ProductChangeFeed(ProductRepository productRepository,
+                             @Value("${app.product-changes.history:10000}") int historySize,
+                             @Value("${app.product-changes.subscriber-buffer:256}") int subscriberBufferSize,
+                             @Value("${app.product-changes.timeout:30m}") Duration subscriptionTimeout) {
+        this.productRepository = productRepository;
+        this.historySize = historySize;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.subscriptionTimeout = subscriptionTimeout;
+    }
+
+    /**
+     * Appends a change per product to the feed after the product write has been committed. The
+     * products are reloaded with a single query in a new transaction, so the changes carry the
+     * committed state.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onProductChanged(ProductChangedEvent event) {
+        Map<Long, ProductDTO> products = event.getType() == ProductChangedEvent.ChangeType.DELETED
+                ? Map.of()
+                : productRepository.findWithDetailsByIdIn(event.getProductIds()).stream()
+                        .collect(Collectors.toMap(Product::getId, EntityDTOMapper::toProductDTO));
+
+        for (Long productId : event.getProductIds()) {
+            ProductDTO product = products.get(productId);
+            // A product deleted before its creation or update could be read is reported as deleted
+            ProductChangedEvent.ChangeType type = product == null
+                    ? ProductChangedEvent.ChangeType.DELETED
+                    : event.getType();
+            append(type, productId, product);
+        }
+    }
+
+    /**
+     * Retrieves the changes that happened after a sequence number
+     * @param since The sequence number of the last change seen by the client (0 for all retained changes)
+     * @return The changes, oldest first; incomplete if some of them are no longer retained
+     */
+    public synchronized ChangeLogResponse<ProductChangeDTO> getChangesSince(long since) {
+        if (!isRetained(since)) {
+            return new ChangeLogResponse<>(List.of(), latestSequence, false);
+        }
+
+        List<ProductChangeDTO> changes = history.stream()
+                .filter(change -> change.getSequence() > since)
+                .toList();
+        return new ChangeLogResponse<>(changes, latestSequence, true);
+    }
+
+    /**
+     * Subscribes a client to the feed. The client first gets a connected event with the latest
+     * sequence number, then a change event for every change. When reconnecting, the changes missed
+     * since the last event received are sent first, or a reset event if they are no longer retained.
+     * @param lastEventId The sequence number of the last event received by the client, if reconnecting
+     * @return The emitter of the subscription
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            subscriber.connect(latestSequence);
+            if (lastEventId != null) {
+                if (isRetained(lastEventId)) {
+                    history.stream()
+                            .filter(change -> change.getSequence() > lastEventId)
+                            .forEach(subscriber::offer);
+                } else {
+                    subscriber.reset(latestSequence);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * @return The number of connected subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Creates the emitter of a new subscription
+     */
+    SseEmitter createEmitter() {
+        return new SseEmitter(subscriptionTimeout.toMillis());
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    private synchronized void append(ProductChangedEvent.ChangeType type, Long productId, ProductDTO product) {
+        ProductChangeDTO change = new ProductChangeDTO(++latestSequence, type, productId, product, Instant.now());
+        history.addLast(change);
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+        // Offering never blocks, and doing it under the lock keeps every subscriber's changes in order
+        subscribers.forEach(subscriber -> subscriber.offer(change));
+    }
+
+    private boolean isRetained(long since) {
+        if (since > latestSequence) {
+            // The client saw a sequence of a previous run of the server
+            return false;
+        }
+        long oldestRetained = history.isEmpty() ? latestSequence + 1 : history.peekFirst().getSequence();
+        return since >= oldestRetained - 1;
+    }
+
+    /**
+     * A Server-Sent Events client with its buffer of pending changes. The buffer is drained by one
+     * task at a time, so events are sent in order.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<ProductChangeDTO> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile Long connectedSequence;
+        private volatile Long resetSequence;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(subscriberBufferSize);
+        }
+
+        private void connect(long sequence) {
+            connectedSequence = sequence;
+            scheduleDrain();
+        }
+
+        private void offer(ProductChangeDTO change) {
+            if (!pending.offer(change)) {
+                logger.debug("Change feed subscriber fell behind; dropping {} buffered changes", pending.size());
+                pending.clear();
+                resetSequence = change.getSequence();
+            }
+            scheduleDrain();
+        }
+
+        private void reset(long sequence) {
+            pending.clear();
+            resetSequence = sequence;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Long sequence = connectedSequence;
+                if (sequence != null) {
+                    connectedSequence = null;
+                    send(CONNECTED_EVENT, sequence, sequence);
+                }
+
+                boolean sending = true;
+                while (sending) {
+                    Long reset = resetSequence;
+                    if (reset != null) {
+                        resetSequence = null;
+                        send(RESET_EVENT, reset, reset);
+                    }
+
+                    ProductChangeDTO change = pending.poll();
+                    if (change != null && (resetSequence == null || change.getSequence() > resetSequence)) {
+                        send(CHANGE_EVENT, change.getSequence(), change);
+                    }
+                    sending = change != null || resetSequence != null;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter completed
+                subscribers.remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+
+            // Changes may have arrived between the last poll and the end of this drain
+            if (!pending.isEmpty() || resetSequence != null) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(String name, long sequence, Object data) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(sequence))
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.diegoehg.onlinestore.event;
+
+import java.util.List;
+
+/**
+ * Application event published by the product service whenever products are created, updated or deleted.
+ * A batch write publishes one event per change type with all its products, so listeners can reload
+ * them together. Listeners that keep derived state (e.g. the search index) should react once the
+ * transaction commits.
+ */
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType type;
+    private final List<Long> productIds;
+
+    public ProductChangedEvent(ChangeType type, Long productId) {
+        this(type, List.of(productId));
+    }
+
+    public ProductChangedEvent(ChangeType type, List<Long> productIds) {
+        this.type = type;
+        this.productIds = List.copyOf(productIds);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangedEvent{" +
+                "type=" + type +
+                ", productIds=" + productIds +
+                '}';
+    }
+}
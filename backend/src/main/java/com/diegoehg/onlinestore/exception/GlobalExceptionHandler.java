@@ -1,6 +1,7 @@
 package com.diegoehg.onlinestore.exception;
 
 import com.diegoehg.onlinestore.model.Response;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -19,6 +20,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Response.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
     }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Response<Object>> handlePreconditionFailedException(PreconditionFailedException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Response.error(e.getMessage(), HttpStatus.PRECONDITION_FAILED.value()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Response<Object>> handleServiceUnavailableException(ServiceUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Response.error(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Response<Object>> handleBadRequestException(BadRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Response.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+    }
     
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Response<Object>> handleValidationExceptions(MethodArgumentNotValidException e) {
@@ -0,0 +1,7 @@
+package com.diegoehg.onlinestore.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String resourceName, String id) {
+        super(resourceName + " with ID " + id + " was modified by another request.");
+    }
+}
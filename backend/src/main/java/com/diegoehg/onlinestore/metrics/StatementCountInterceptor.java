@@ -0,0 +1,45 @@
+package com.diegoehg.onlinestore.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Interceptor that records the number of SQL statements executed by every request,
+ * as the onlinestore.request.statements distribution, tagged by method and URI pattern.
+ */
+public class StatementCountInterceptor implements HandlerInterceptor {
+
+    private static final String METRIC_NAME = "onlinestore.request.statements";
+
+    private final StatementCountingInspector statementCountingInspector;
+    private final MeterRegistry meterRegistry;
+
+    public StatementCountInterceptor(StatementCountingInspector statementCountingInspector, MeterRegistry meterRegistry) {
+        this.statementCountingInspector = statementCountingInspector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementCountingInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = statementCountingInspector.getCountAndClear();
+
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
@@ -0,0 +1,34 @@
+package com.diegoehg.onlinestore.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared by the current thread.
+ * The count is reset and read by {@link StatementCountInterceptor} around every request.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        count.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Starts counting from zero on the current thread
+     */
+    public void reset() {
+        count.get()[0] = 0;
+    }
+
+    /**
+     * Returns the number of statements counted on the current thread and stops counting
+     */
+    public int getCountAndClear() {
+        int statements = count.get()[0];
+        count.remove();
+        return statements;
+    }
+}
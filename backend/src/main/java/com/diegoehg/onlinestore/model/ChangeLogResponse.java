@@ -0,0 +1,52 @@
+package com.diegoehg.onlinestore.model;
+
+import java.util.List;
+
+/**
+ * Generic class for the changes that happened after a sequence number.
+ * When the requested changes are no longer retained (or the sequence belongs to a previous
+ * run of the server), complete is false and the client has to reload the data it holds,
+ * then continue from latestSequence.
+ * @param <T> Type of the content
+ */
+public class ChangeLogResponse<T> {
+    private List<T> content;
+    private long latestSequence;
+    private boolean complete;
+
+    // Default constructor
+    public ChangeLogResponse() {
+    }
+
+    // Constructor with fields
+    public ChangeLogResponse(List<T> content, long latestSequence, boolean complete) {
+        this.content = content;
+        this.latestSequence = latestSequence;
+        this.complete = complete;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public long getLatestSequence() {
+        return latestSequence;
+    }
+
+    public void setLatestSequence(long latestSequence) {
+        this.latestSequence = latestSequence;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+}
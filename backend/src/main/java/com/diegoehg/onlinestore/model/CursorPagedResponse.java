@@ -0,0 +1,60 @@
+package com.diegoehg.onlinestore.model;
+
+import java.util.List;
+
+/**
+ * Generic class for cursor (keyset) paginated response.
+ * Unlike {@link PagedResponse} it carries no totals, so no count query is needed to build it.
+ * @param <T> Type of the content
+ */
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    // Default constructor
+    public CursorPagedResponse() {
+    }
+
+    // Constructor with fields
+    public CursorPagedResponse(List<T> content, int size, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,9 @@
+package com.diegoehg.onlinestore.model;
+
+/**
+ * Formats supported by the catalog export
+ */
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
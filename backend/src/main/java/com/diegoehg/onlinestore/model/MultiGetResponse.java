@@ -0,0 +1,41 @@
+package com.diegoehg.onlinestore.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generic class for the response of a lookup of many elements by ID.
+ * The content follows the order of the requested IDs; IDs without an element are listed apart.
+ * @param <T> Type of the content
+ */
+public class MultiGetResponse<T> {
+    private List<T> content = new ArrayList<>();
+    private List<Long> missingIds = new ArrayList<>();
+
+    // Default constructor
+    public MultiGetResponse() {
+    }
+
+    // Constructor with fields
+    public MultiGetResponse(List<T> content, List<Long> missingIds) {
+        this.content = content;
+        this.missingIds = missingIds;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -2,16 +2,20 @@ package com.diegoehg.onlinestore.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "payment_methods")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "paymentMethods")
 public class PaymentMethod {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_methods_seq")
+    @SequenceGenerator(name = "payment_methods_seq", sequenceName = "payment_methods_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -4,17 +4,64 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
-@Table(name = "products")
+// Updates only write the columns that changed, e.g. a price change does not rewrite the description
+@DynamicUpdate
+@Table(name = "products", indexes = {
+    // Listing filters: seller with a price range, price range alone, and sort keys
+    @Index(name = "idx_products_seller_price", columnList = "seller_id, price"),
+    @Index(name = "idx_products_price", columnList = "price"),
+    @Index(name = "idx_products_title", columnList = "title")
+})
+@NamedEntityGraph(
+    name = Product.LISTING_GRAPH,
+    attributeNodes = @NamedAttributeNode("seller")
+)
+@NamedEntityGraph(
+    name = Product.DETAIL_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("images"),
+        @NamedAttributeNode("seller")
+    }
+)
 public class Product {
 
+    /**
+     * Fetch plan for listing pages: joins the seller only, so it stays safe to combine with
+     * pagination. Images are then loaded in batches (see {@link BatchSize}), and payment methods
+     * come from the second-level cache (see {@link Seller}).
+     */
+    public static final String LISTING_GRAPH = "Product.listing";
+
+    /**
+     * Fetch plan for a single product: loads images and seller in one query. The payment methods
+     * of the seller are not joined, they come from the second-level cache.
+     */
+    public static final String DETAIL_GRAPH = "Product.detail";
+
+    /**
+     * Name of the sequence that generates product IDs
+     */
+    public static final String ID_SEQUENCE = "products_seq";
+
+    /**
+     * Number of IDs reserved by every call to the ID sequence (its increment). Each call returns
+     * the highest ID of its block, so inserts can be batched without a round-trip per product.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -24,7 +71,14 @@ public class Product {
     private String description;
 
     @ElementCollection
-    @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
+    @BatchSize(size = 100)
+    @CollectionTable(
+        name = "product_images",
+        joinColumns = @JoinColumn(name = "product_id"),
+        indexes = @Index(name = "idx_product_images_product", columnList = "product_id")
+    )
+    // The position of every image is stored, so changing, adding or removing one image writes only its row
+    @OrderColumn(name = "image_order")
     @Column(name = "image_url")
     private List<String> images = new ArrayList<>();
 
@@ -32,10 +86,16 @@ public class Product {
     @Positive(message = "Price must be positive")
     private BigDecimal price;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id")
     private Seller seller;
 
+    // Incremented by Hibernate on every update; used to build the ETag of the product
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Default constructor
     public Product() {
     }
@@ -90,6 +150,29 @@ public class Product {
         this.images = images;
     }
 
+    /**
+     * Replaces the images with the given ones, changing the current list in place position by
+     * position: only the positions whose URL changed are updated, and only the extra positions are
+     * inserted or deleted. Setting a new list instead makes Hibernate delete and re-insert every image.
+     * @param newImages The new images, in order
+     */
+    public void updateImages(List<String> newImages) {
+        if (images == null) {
+            images = new ArrayList<>(newImages);
+            return;
+        }
+        for (int i = 0; i < newImages.size(); i++) {
+            if (i >= images.size()) {
+                images.add(newImages.get(i));
+            } else if (!Objects.equals(images.get(i), newImages.get(i))) {
+                images.set(i, newImages.get(i));
+            }
+        }
+        while (images.size() > newImages.size()) {
+            images.remove(images.size() - 1);
+        }
+    }
+
     public BigDecimal getPrice() {
         return price;
     }
@@ -106,6 +189,14 @@ public class Product {
         this.seller = seller;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Product{" +
@@ -2,16 +2,21 @@ package com.diegoehg.onlinestore.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "sellers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sellers")
 public class Seller {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sellers_seq")
+    @SequenceGenerator(name = "sellers_seq", sequenceName = "sellers_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -21,10 +26,13 @@ public class Seller {
     private Set<Product> products = new HashSet<>();
 
     @ManyToMany
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sellerPaymentMethods")
     @JoinTable(
         name = "seller_payment_methods",
         joinColumns = @JoinColumn(name = "seller_id"),
-        inverseJoinColumns = @JoinColumn(name = "payment_method_id")
+        inverseJoinColumns = @JoinColumn(name = "payment_method_id"),
+        indexes = @Index(name = "idx_seller_payment_methods_payment_method", columnList = "payment_method_id")
     )
     private Set<PaymentMethod> paymentMethods = new HashSet<>();
 
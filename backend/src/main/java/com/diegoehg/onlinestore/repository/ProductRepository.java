@@ -1,11 +1,95 @@
 package com.diegoehg.onlinestore.repository;
 
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
 import com.diegoehg.onlinestore.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
     // Spring Data JPA will automatically implement basic CRUD operations
-    // Custom query methods can be added here if needed
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a page of the products matching a specification (see {@link ProductSpecifications}),
+     * using the listing fetch plan, so the page is served by a fixed number of queries regardless of its size.
+     * @param spec The filter to apply
+     * @param pageable Pagination and sort information
+     * @return Page of products with their sellers already loaded
+     */
+    @Override
+    @EntityGraph(Product.LISTING_GRAPH)
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Retrieves the products whose ID is greater than the given one, using the listing fetch plan.
+     * This is a seek (keyset) query: it never scans skipped rows and, returning a {@link Slice},
+     * it does not issue a count query.
+     * @param id The last ID already seen by the client
+     * @param pageable Page size and sort, expected to be sorted by ID ascending
+     * @return Slice of products after the given ID
+     */
+    @EntityGraph(Product.LISTING_GRAPH)
+    Slice<Product> findByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Retrieves a product with its images and seller in a single query.
+     * @param id The ID of the product
+     * @return The product if found
+     */
+    @EntityGraph(Product.DETAIL_GRAPH)
+    Optional<Product> findWithDetailsById(Long id);
+
+    /**
+     * Retrieves many products with their images and sellers in a single query.
+     * @param ids The IDs of the products
+     * @return The products found, in no particular order
+     */
+    @EntityGraph(Product.DETAIL_GRAPH)
+    List<Product> findWithDetailsByIdIn(Collection<Long> ids);
+
+    /**
+     * Retrieves only the version of a product, without loading the entity.
+     * @param id The ID of the product
+     * @return The version of the product if found
+     */
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Deletes a product, with its images, only if it still has the given version. The version is
+     * checked by the statement itself, so the product is not loaded first.
+     * @param id The ID of the product
+     * @param version The expected version of the product
+     * @return The number of deleted products: 0 if it does not exist or has another version
+     */
+    @Modifying
+    @Query("delete from Product p where p.id = :id and p.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Retrieves a page of product summaries. Only the summary columns are selected and the
+     * DTOs are built by the query itself, so no Product or Seller entity is loaded.
+     * The image of each summary is the first of its images. Summaries are ordered by ID.
+     * @param pageable Pagination information, without sort
+     * @return Page of product summaries
+     */
+    @Query(value = "select new com.diegoehg.onlinestore.dto.ProductSummaryDTO(p.id, p.title, p.price, "
+            + "(select i from Product p2 join p2.images i where p2.id = p.id and index(i) = 0), s.id, s.name) "
+            + "from Product p left join p.seller s order by p.id",
+            countQuery = "select count(p) from Product p")
+    Page<ProductSummaryDTO> findSummariesBy(Pageable pageable);
+}
@@ -0,0 +1,34 @@
+package com.diegoehg.onlinestore.repository;
+
+import com.diegoehg.onlinestore.dto.ProductVersionDTO;
+import com.diegoehg.onlinestore.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Product queries that Spring Data cannot derive, implemented by {@link ProductRepositoryCustomImpl}
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Retrieves the IDs and versions of a page of the products matching a specification.
+     * Only those two columns are selected, so no Product entity is loaded.
+     * @param spec The filter to apply
+     * @param pageable Pagination and sort information
+     * @return Page of product versions
+     */
+    Page<ProductVersionDTO> findVersions(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Retrieves the products matching a specification whose ID is greater than the given one,
+     * ordered by ID, with their sellers. This is a seek (keyset) query: it never scans skipped rows
+     * and, returning a {@link Slice}, it does not issue a count query.
+     * @param spec The filter to apply
+     * @param id The last ID already seen by the client
+     * @param size The number of products to retrieve
+     * @return Slice of products after the given ID
+     */
+    Slice<Product> findAfter(Specification<Product> spec, Long id, int size);
+}
@@ -0,0 +1,91 @@
+package com.diegoehg.onlinestore.repository;
+
+import com.diegoehg.onlinestore.dto.ProductVersionDTO;
+import com.diegoehg.onlinestore.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link ProductRepositoryCustom}
+ */
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ProductRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ProductVersionDTO> findVersions(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductVersionDTO> query = cb.createQuery(ProductVersionDTO.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.construct(ProductVersionDTO.class, product.get("id"), product.get("version")));
+        Predicate predicate = spec.toPredicate(product, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+
+        List<ProductVersionDTO> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        // The count is skipped when the page itself tells the total, as Spring Data does
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<Product> findAfter(Specification<Product> spec, Long id, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        // Same fetch plan as the listing graph: sellers joined, images loaded in batches
+        product.fetch("seller", JoinType.LEFT);
+        Predicate predicate = spec.toPredicate(product, query, cb);
+        Predicate after = cb.greaterThan(product.<Long>get("id"), id);
+        query.where(predicate != null ? cb.and(predicate, after) : after);
+        query.orderBy(cb.asc(product.get("id")));
+
+        // One more product than requested tells whether there is a next slice
+        List<Product> products = new ArrayList<>(entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList());
+        boolean hasNext = products.size() > size;
+        if (hasNext) {
+            products.remove(size);
+        }
+        return new SliceImpl<>(products, PageRequest.of(0, size, Sort.by("id")), hasNext);
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product));
+        Predicate predicate = spec.toPredicate(product, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,56 @@
+package com.diegoehg.onlinestore.repository;
+
+import com.diegoehg.onlinestore.dto.ProductFilter;
+import com.diegoehg.onlinestore.model.PaymentMethod;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications to filter products, to be used with {@link ProductRepository}
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Builds a specification matching the products that meet every criterion of the filter
+     * @param filter The filter criteria; unset criteria are ignored
+     * @return The specification
+     */
+    public static Specification<Product> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getSellerId() != null) {
+                predicates.add(cb.equal(root.get("seller").get("id"), filter.getSellerId()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<BigDecimal>get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<BigDecimal>get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getPaymentMethodId() != null) {
+                // Sellers accepting the payment method, as a subquery so products are not duplicated
+                Subquery<Long> sellers = query.subquery(Long.class);
+                Root<Seller> seller = sellers.from(Seller.class);
+                Join<Seller, PaymentMethod> paymentMethod = seller.join("paymentMethods");
+                sellers.select(seller.<Long>get("id"))
+                        .where(cb.equal(paymentMethod.get("id"), filter.getPaymentMethodId()));
+                predicates.add(root.get("seller").get("id").in(sellers));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
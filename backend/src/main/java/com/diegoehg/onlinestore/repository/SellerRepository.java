@@ -1,11 +1,59 @@
 package com.diegoehg.onlinestore.repository;
 
+import com.diegoehg.onlinestore.dto.SellerSummaryDTO;
 import com.diegoehg.onlinestore.model.Seller;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface SellerRepository extends JpaRepository<Seller, Long> {
     // Spring Data JPA will automatically implement basic CRUD operations
-    // Custom query methods can be added here if needed
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the first sellers by ID. Their payment methods are batch-fetched by one more query,
+     * since a limit cannot be applied by the database to a query joining a collection.
+     * @param limit Maximum number of sellers
+     * @return List of sellers ordered by ID
+     */
+    List<Seller> findByOrderByIdAsc(Limit limit);
+
+    /**
+     * Retrieves a seller with its payment methods in a single query.
+     * @param id The ID of the seller
+     * @return The seller if found
+     */
+    @EntityGraph(attributePaths = "paymentMethods")
+    Optional<Seller> findWithPaymentMethodsById(Long id);
+
+    /**
+     * Retrieves a page of seller summaries. Product counts and price ranges are computed by
+     * the same aggregate query, so no Seller or Product entity is loaded.
+     * Summaries are ordered by ID.
+     * @param pageable Pagination information, without sort
+     * @return Page of seller summaries
+     */
+    @Query(value = "select new com.diegoehg.onlinestore.dto.SellerSummaryDTO(s.id, s.name, count(p), min(p.price), max(p.price)) "
+            + "from Seller s left join Product p on p.seller = s "
+            + "group by s.id, s.name order by s.id",
+            countQuery = "select count(s) from Seller s")
+    Page<SellerSummaryDTO> findSummariesBy(Pageable pageable);
+
+    /**
+     * Retrieves the summary of a seller, with its product count and price range.
+     * @param id The ID of the seller
+     * @return The seller summary if found
+     */
+    @Query("select new com.diegoehg.onlinestore.dto.SellerSummaryDTO(s.id, s.name, count(p), min(p.price), max(p.price)) "
+            + "from Seller s left join Product p on p.seller = s "
+            + "where s.id = :id group by s.id, s.name")
+    Optional<SellerSummaryDTO> findSummaryById(@Param("id") Long id);
+}
@@ -0,0 +1,178 @@
+package com.diegoehg.onlinestore.search;
+
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product titles and descriptions.
+ *
+ * Text is lowercased and split on anything that is not a letter or a digit. Matches are ranked
+ * with BM25-style scoring: rarer terms weigh more, repeated terms saturate, and terms found in
+ * the title count {@value #TITLE_WEIGHT} times as much as terms found in the description.
+ * Searches run under a read lock and updates under a write lock, so the index can be queried
+ * while it is being updated. It is filled and kept up to date by {@link ProductSearchIndexer}.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final double SATURATION = 1.2;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // term -> (product ID -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a product to the index, replacing its previous entry if it was already indexed
+     * @param summary The summary returned for the product by searches
+     * @param title The title of the product
+     * @param description The description of the product
+     */
+    public void index(ProductSummaryDTO summary, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(summary.getId());
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(summary.getId(), frequency));
+            products.put(summary.getId(), new IndexedProduct(summary, frequencies.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the index
+     * @param id The ID of the product
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every product from the index
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            products.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the products matching any of the terms of the query, best matches first
+     * @param query The text to search for
+     * @param limit Maximum number of results
+     * @return Summaries of the matching products, ordered by relevance and then by ID
+     */
+    public List<ProductSummaryDTO> search(String query, int limit) {
+        Set<String> terms = new HashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = products.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                termPostings.forEach((id, frequency) ->
+                        scores.merge(id, idf * frequency / (frequency + SATURATION), Double::sum));
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            List<ProductSummaryDTO> results = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                results.add(products.get(ranked.get(i).getKey()).summary());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void removeUnlocked(Long id) {
+        IndexedProduct previous = products.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        for (String term : previous.terms()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record IndexedProduct(ProductSummaryDTO summary, Set<String> terms) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.diegoehg.onlinestore.search;
+
+import com.diegoehg.onlinestore.datasource.ReadFromPrimary;
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
+import com.diegoehg.onlinestore.event.ProductChangedEvent;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the {@link ProductSearchIndex} in sync with the database: the index is built from the
+ * repository once the application is ready, and then updated from {@link ProductChangedEvent}s
+ * after every committed product write.
+ */
+@Component
+public class ProductSearchIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndexer.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ProductSearchIndexer(ProductSearchIndex productSearchIndex, ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.productSearchIndex = productSearchIndex;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index from every product in the database, reading them in chunks
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Building product search index...");
+        productSearchIndex.clear();
+
+        Long lastId = 0L;
+        boolean hasNext = true;
+        while (hasNext) {
+            Long afterId = lastId;
+            Slice<Product> chunk = transactionTemplate.execute(status -> {
+                Slice<Product> products = productRepository.findByIdGreaterThan(
+                        afterId, PageRequest.of(0, CHUNK_SIZE, Sort.by("id")));
+                products.forEach(this::index);
+                return products;
+            });
+
+            List<Product> products = chunk.getContent();
+            if (products.isEmpty()) {
+                break;
+            }
+            lastId = products.get(products.size() - 1).getId();
+            hasNext = chunk.hasNext();
+        }
+
+        logger.info("Product search index built with {} products", productSearchIndex.size());
+    }
+
+    /**
+     * Updates the index after a product write has been committed. The products are reloaded with
+     * a single query in a new transaction, so the index reflects the committed state.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.ChangeType.DELETED) {
+            event.getProductIds().forEach(productSearchIndex::remove);
+            return;
+        }
+
+        Set<Long> missingIds = new HashSet<>(event.getProductIds());
+        for (Product product : productRepository.findWithDetailsByIdIn(event.getProductIds())) {
+            index(product);
+            missingIds.remove(product.getId());
+        }
+        // Deleted before they could be read
+        missingIds.forEach(productSearchIndex::remove);
+    }
+
+    private void index(Product product) {
+        Seller seller = product.getSeller();
+        List<String> images = product.getImages();
+        ProductSummaryDTO summary = new ProductSummaryDTO(
+                product.getId(),
+                product.getTitle(),
+                product.getPrice(),
+                images != null && !images.isEmpty() ? images.get(0) : null,
+                seller != null ? seller.getId() : null,
+                seller != null ? seller.getName() : null
+        );
+        productSearchIndex.index(summary, product.getTitle(), product.getDescription());
+    }
+}
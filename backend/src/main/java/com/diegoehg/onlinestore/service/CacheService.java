@@ -0,0 +1,17 @@
+package com.diegoehg.onlinestore.service;
+
+import com.diegoehg.onlinestore.dto.CacheStatsDTO;
+
+import java.util.List;
+
+/**
+ * Interface for cache inspection operations
+ */
+public interface CacheService {
+
+    /**
+     * Retrieves the statistics of every in-process cache, including the Hibernate second-level cache regions
+     * @return List of cache statistics as DTOs
+     */
+    List<CacheStatsDTO> getCacheStats();
+}
@@ -0,0 +1,74 @@
+package com.diegoehg.onlinestore.service;
+
+import com.diegoehg.onlinestore.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the CacheService interface
+ */
+@Service
+public class CacheServiceImpl implements CacheService {
+
+    private static final String HIBERNATE_REGION_PREFIX = "hibernate.";
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public CacheServiceImpl(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public List<CacheStatsDTO> getCacheStats() {
+        List<CacheStatsDTO> cacheStats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                cacheStats.add(new CacheStatsDTO(
+                        name,
+                        nativeCache.estimatedSize(),
+                        stats.hitCount(),
+                        stats.missCount(),
+                        stats.hitRate(),
+                        stats.evictionCount()
+                ));
+            }
+        }
+
+        // Hibernate only reports hits and misses of its regions; size and evictions are unknown (-1)
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            long requests = regionStats.getHitCount() + regionStats.getMissCount();
+            long size = regionStats.getElementCountInMemory();
+            cacheStats.add(new CacheStatsDTO(
+                    HIBERNATE_REGION_PREFIX + region,
+                    size >= 0 ? size : -1,
+                    regionStats.getHitCount(),
+                    regionStats.getMissCount(),
+                    requests == 0 ? 1.0 : (double) regionStats.getHitCount() / requests,
+                    -1
+            ));
+        }
+        return cacheStats;
+    }
+}
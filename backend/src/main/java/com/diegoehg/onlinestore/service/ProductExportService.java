@@ -0,0 +1,23 @@
+package com.diegoehg.onlinestore.service;
+
+import com.diegoehg.onlinestore.model.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface for catalog export operations
+ */
+public interface ProductExportService {
+
+    /**
+     * Writes every product to the given stream, ordered by ID.
+     * NDJSON writes one ProductDTO per line; CSV uses the same columns as the products.csv
+     * loaded at startup. Products are read and written in chunks, so memory usage does not
+     * depend on the size of the catalog, and the stream is flushed after every chunk.
+     * @param format The output format
+     * @param outputStream The stream to write to; it is not closed
+     * @throws IOException if the stream cannot be written
+     */
+    void exportProducts(ExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,127 @@
+package com.diegoehg.onlinestore.service;
+
+import com.diegoehg.onlinestore.datasource.ReadFromPrimary;
+import com.diegoehg.onlinestore.dto.EntityDTOMapper;
+import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.model.ExportFormat;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Implementation of the ProductExportService interface.
+ *
+ * The catalog is walked with the keyset query used by cursor pagination, so every chunk costs
+ * the same fixed number of queries (images and payment methods are batch-fetched), and the
+ * persistence context is cleared after each chunk to keep memory flat. The whole export runs
+ * in one read-only REPEATABLE READ transaction, so every chunk reads the same snapshot of the
+ * catalog; under READ COMMITTED each query would see the writes committed since the previous one.
+ *
+ * The export reads from the primary: a query on a replica that runs as long as a full export can be
+ * cancelled by the replica when it conflicts with the replication of changes from the primary.
+ */
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String[] CSV_HEADER = {"product_title", "description", "price", "seller_id", "image_urls"};
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ProductExportServiceImpl(ProductRepository productRepository, EntityManager entityManager,
+                                    ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @ReadFromPrimary
+    public void exportProducts(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).build());
+            forEachChunk(products -> {
+                for (ProductDTO product : products) {
+                    csvPrinter.printRecord(
+                            product.getTitle(),
+                            product.getDescription(),
+                            product.getPrice(),
+                            product.getSeller() != null ? product.getSeller().getId() : null,
+                            String.join(";", product.getImages()));
+                }
+                csvPrinter.flush();
+            });
+            csvPrinter.flush();
+        } else {
+            SequenceWriter sequenceWriter = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+            long count = forEachChunk(products -> {
+                sequenceWriter.writeAll(products);
+                sequenceWriter.flush();
+            });
+            // The separator is only written between values, so the last line is terminated here
+            if (count > 0) {
+                writer.write('\n');
+                writer.flush();
+            }
+        }
+    }
+
+    /**
+     * Reads the whole catalog chunk by chunk, ordered by ID, and passes each chunk to the consumer
+     *
+     * @param consumer Consumer of every chunk of products
+     * @return Number of products passed to the consumer
+     * @throws IOException if the consumer fails to write a chunk
+     */
+    private long forEachChunk(ChunkConsumer consumer) throws IOException {
+        long count = 0;
+        Long lastId = 0L;
+        Slice<Product> chunk;
+        do {
+            Pageable pageable = PageRequest.of(0, CHUNK_SIZE, Sort.by("id"));
+            chunk = productRepository.findByIdGreaterThan(lastId, pageable);
+            List<Product> products = chunk.getContent();
+            if (products.isEmpty()) {
+                break;
+            }
+
+            consumer.accept(EntityDTOMapper.toProductDTOList(products));
+            count += products.size();
+            lastId = products.get(products.size() - 1).getId();
+            entityManager.clear();
+        } while (chunk.hasNext());
+
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        void accept(List<ProductDTO> products) throws IOException;
+    }
+}
@@ -0,0 +1,23 @@
+package com.diegoehg.onlinestore.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Interface for bulk product import operations
+ */
+public interface ProductImportService {
+
+    /**
+     * Imports products from a CSV source with the columns
+     * product_title, description, price, seller_id and image_urls (separated by ';').
+     * Records are streamed and written in batches, so memory usage does not depend on the size of the source.
+     * @param reader The CSV source, including its header
+     * @param sellerIds Map from the seller IDs used in the CSV to the IDs of the persisted sellers;
+     *                  records of unknown sellers are skipped
+     * @return The number of imported products
+     * @throws IOException if the source cannot be read
+     */
+    long importProducts(Reader reader, Map<Long, Long> sellerIds) throws IOException;
+}
@@ -0,0 +1,171 @@
+package com.diegoehg.onlinestore.service;
+
+import com.diegoehg.onlinestore.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the ProductImportService interface.
+ *
+ * Products are written with plain JDBC batches instead of JPA: keeping every entity in the
+ * persistence context makes memory grow with the size of the import. The IDs of a batch come
+ * from Hibernate's own product ID generator, which takes a block of {@link Product#ID_ALLOCATION_SIZE}
+ * IDs per call to the sequence on any database, so imported and JPA-created products never collide.
+ * Then the batch of products is inserted in a single round-trip, followed by a single round-trip for
+ * all of their images, in its own transaction.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (id, title, description, price, seller_id, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_IMAGE_SQL =
+            "INSERT INTO product_images (product_id, image_order, image_url) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final IdentifierGenerator idGenerator;
+
+    @Autowired
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.idGenerator = (IdentifierGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Product.class)
+                .getGenerator();
+    }
+
+    @Override
+    public long importProducts(Reader reader, Map<Long, Long> sellerIds) throws IOException {
+        CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
+                .builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreHeaderCase(true)
+                .setTrim(true)
+                .build());
+
+        List<ProductRow> batch = new ArrayList<>(BATCH_SIZE);
+        long imported = 0;
+        long skipped = 0;
+
+        for (CSVRecord record : csvParser) {
+            Long sellerId = sellerIds.get(Long.parseLong(record.get("seller_id")));
+            if (sellerId == null) {
+                skipped++;
+                continue;
+            }
+
+            batch.add(new ProductRow(
+                    record.get(0),
+                    record.get("description"),
+                    new BigDecimal(record.get("price")),
+                    sellerId,
+                    Arrays.asList(record.get("image_urls").split(";"))
+            ));
+
+            if (batch.size() == BATCH_SIZE) {
+                imported += insertBatch(batch);
+                batch.clear();
+                logger.info("Imported {} products so far...", imported);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            imported += insertBatch(batch);
+        }
+
+        logger.info("Product import finished: {} imported, {} skipped", imported, skipped);
+        return imported;
+    }
+
+    /**
+     * Inserts a batch of products and their images in a single transaction.
+     *
+     * @param batch Products to insert
+     * @return Number of inserted products
+     */
+    private int insertBatch(List<ProductRow> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = allocateIds(batch.size());
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ProductRow row = batch.get(i);
+                    ps.setLong(1, ids.get(i));
+                    ps.setString(2, row.title());
+                    ps.setString(3, row.description());
+                    ps.setBigDecimal(4, row.price());
+                    ps.setLong(5, row.sellerId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+
+            List<Object[]> images = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Long productId = ids.get(i);
+                List<String> imageUrls = batch.get(i).images();
+                for (int order = 0; order < imageUrls.size(); order++) {
+                    images.add(new Object[] {productId, order, imageUrls.get(order)});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, images);
+        });
+
+        return batch.size();
+    }
+
+    /**
+     * Reserves product IDs with the generator Hibernate uses for new products. Its pooled optimizer
+     * hands out IDs from memory and calls the sequence once every {@link Product#ID_ALLOCATION_SIZE}
+     * IDs, using the connection of the current transaction.
+     *
+     * @param count Number of IDs needed
+     * @return The reserved IDs
+     */
+    private List<Long> allocateIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) idGenerator.generate(session, null));
+        }
+        return ids;
+    }
+
+    private record ProductRow(String title, String description, BigDecimal price, Long sellerId, List<String> images) {
+    }
+}
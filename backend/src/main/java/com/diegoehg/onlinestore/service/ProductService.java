@@ -1,7 +1,16 @@
 package com.diegoehg.onlinestore.service;
 
+import com.diegoehg.onlinestore.dto.BatchItemResultDTO;
 import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.dto.ProductFilter;
+import com.diegoehg.onlinestore.dto.ProductPatchDTO;
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
+import com.diegoehg.onlinestore.dto.ProductVersionDTO;
+import com.diegoehg.onlinestore.exception.BadRequestException;
+import com.diegoehg.onlinestore.exception.PreconditionFailedException;
 import com.diegoehg.onlinestore.exception.ResourceNotFoundException;
+import com.diegoehg.onlinestore.model.CursorPagedResponse;
+import com.diegoehg.onlinestore.model.MultiGetResponse;
 import com.diegoehg.onlinestore.model.PagedResponse;
 
 import java.util.List;
@@ -11,6 +20,16 @@ import java.util.List;
  */
 public interface ProductService {
 
+    /**
+     * Maximum number of IDs accepted by {@link #getProductsByIds(List)}
+     */
+    int MAX_MULTI_GET_IDS = 100;
+
+    /**
+     * Maximum number of products accepted by {@link #saveProducts(List)}
+     */
+    int MAX_BATCH_SIZE = 500;
+
     /**
      * Retrieves all products
      * @return List of all products as DTOs
@@ -18,12 +37,69 @@ public interface ProductService {
     List<ProductDTO> getAllProducts();
     
     /**
-     * Retrieves products with pagination
+     * Retrieves products with pagination, filtered and sorted as requested
      * @param page Page number (1-based)
      * @param size Page size
+     * @param filter Filter and sort criteria
      * @return Paginated response with products
+     * @throws BadRequestException if the sort property or direction is not supported
+     */
+    PagedResponse<ProductDTO> getProductsPaginated(int page, int size, ProductFilter filter);
+
+    /**
+     * Retrieves product summaries with pagination, in the same order as the unfiltered
+     * {@link #getProductsPaginated(int, int, ProductFilter)}
+     * @param page Page number (1-based)
+     * @param size Page size
+     * @return Paginated response with product summaries
+     */
+    PagedResponse<ProductSummaryDTO> getProductSummariesPaginated(int page, int size);
+
+    /**
+     * Retrieves products with cursor (keyset) pagination, ordered by ID
+     * @param after Opaque cursor returned by the previous call, or null/blank for the first page
+     * @param size Page size
+     * @param filter Filter criteria; the sort must be by ID ascending
+     * @return Cursor paginated response with products and the cursor of the next page
+     * @throws BadRequestException if the cursor is malformed or another sort is requested
+     */
+    CursorPagedResponse<ProductDTO> getProductsAfter(String after, int size, ProductFilter filter);
+
+    /**
+     * Retrieves the IDs and versions of a page of products, with the same filter and order as
+     * {@link #getProductsPaginated(int, int, ProductFilter)}, without mapping the products
+     * @param page Page number (1-based)
+     * @param size Page size
+     * @param filter Filter and sort criteria
+     * @return Paginated response with product versions
+     * @throws BadRequestException if the sort property or direction is not supported
+     */
+    PagedResponse<ProductVersionDTO> getProductVersionsPaginated(int page, int size, ProductFilter filter);
+
+    /**
+     * Retrieves the current version of a product, without loading or mapping it
+     * @param id The ID of the product
+     * @return The version of the product
+     * @throws ResourceNotFoundException if the product is not found
      */
-    PagedResponse<ProductDTO> getProductsPaginated(int page, int size);
+    Long getProductVersion(Long id);
+
+    /**
+     * Retrieves many products by ID, reusing the product cache for the ones already cached
+     * and loading the rest with a single query
+     * @param ids The IDs of the products; duplicates are ignored
+     * @return The products in the order of the requested IDs, and the IDs without a product
+     * @throws BadRequestException if more than {@link #MAX_MULTI_GET_IDS} IDs are requested
+     */
+    MultiGetResponse<ProductDTO> getProductsByIds(List<Long> ids);
+
+    /**
+     * Searches products by title and description, using the in-memory search index
+     * @param query The text to search for
+     * @param limit Maximum number of results
+     * @return Summaries of the matching products, best matches first
+     */
+    List<ProductSummaryDTO> searchProducts(String query, int limit);
 
     /**
      * Retrieves a product by its ID
@@ -34,12 +110,23 @@ public interface ProductService {
     ProductDTO getProductById(Long id);
 
     /**
-     * Saves a new product
+     * Saves a product: a product without ID is created, a product with ID overwrites the existing one
      * @param productDTO The product DTO to save
      * @return The saved product as DTO with generated ID
+     * @throws ResourceNotFoundException if the DTO has the ID of a product that does not exist
      */
     ProductDTO saveProduct(ProductDTO productDTO);
 
+    /**
+     * Creates or updates many products in one transaction, with batched statements.
+     * Products without ID are created; products with ID update the existing product.
+     * Invalid or unknown products are reported and do not prevent the others from being saved.
+     * @param productDTOs The products to save
+     * @return The outcome of every product, in the same order
+     * @throws BadRequestException if the batch is empty or has more than {@link #MAX_BATCH_SIZE} products
+     */
+    List<BatchItemResultDTO> saveProducts(List<ProductDTO> productDTOs);
+
     /**
      * Deletes a product by its ID
      * @param id The ID of the product to delete
@@ -54,4 +141,48 @@ public interface ProductService {
      * @throws RuntimeException if the product is not found
      */
     ProductDTO updateProduct(Long id, ProductDTO productDTO);
+
+    /**
+     * Partially updates an existing product: only the fields present in the patch are changed.
+     * Only the changed columns are written, and images are updated position by position.
+     * @param id The ID of the product to update
+     * @param patch The fields to change
+     * @return The updated product as DTO
+     * @throws ResourceNotFoundException if the product is not found
+     * @throws BadRequestException if the patch references a seller without ID
+     */
+    ProductDTO patchProduct(Long id, ProductPatchDTO patch);
+
+    /**
+     * Updates an existing product only if it still has the expected version. The version is checked
+     * by the UPDATE statement itself, so the product is not read first (its images are, if they changed).
+     * @param id The ID of the product to update
+     * @param expectedVersion The version the client based its update on
+     * @param productDTO The updated product details as DTO
+     * @return The new version of the product
+     * @throws ResourceNotFoundException if the product is not found
+     * @throws PreconditionFailedException if the product has another version
+     */
+    Long updateProductIfMatch(Long id, Long expectedVersion, ProductDTO productDTO);
+
+    /**
+     * Partially updates an existing product only if it still has the expected version,
+     * with a single conditional UPDATE of the fields present in the patch
+     * @param id The ID of the product to update
+     * @param expectedVersion The version the client based its update on
+     * @param patch The fields to change
+     * @return The new version of the product
+     * @throws ResourceNotFoundException if the product is not found
+     * @throws PreconditionFailedException if the product has another version
+     */
+    Long patchProductIfMatch(Long id, Long expectedVersion, ProductPatchDTO patch);
+
+    /**
+     * Deletes a product only if it still has the expected version, with a single conditional DELETE
+     * @param id The ID of the product to delete
+     * @param expectedVersion The version the client based its deletion on
+     * @throws ResourceNotFoundException if the product is not found
+     * @throws PreconditionFailedException if the product has another version
+     */
+    void deleteProductIfMatch(Long id, Long expectedVersion);
 }
\ No newline at end of file
@@ -1,42 +1,104 @@
 package com.diegoehg.onlinestore.service;
 
+import com.diegoehg.onlinestore.config.CacheConfig;
+import com.diegoehg.onlinestore.datasource.ReadFromPrimary;
+import com.diegoehg.onlinestore.dto.BatchItemResultDTO;
 import com.diegoehg.onlinestore.dto.EntityDTOMapper;
 import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.dto.ProductFilter;
+import com.diegoehg.onlinestore.dto.ProductPatchDTO;
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
+import com.diegoehg.onlinestore.dto.ProductVersionDTO;
+import com.diegoehg.onlinestore.dto.SellerDTO;
+import com.diegoehg.onlinestore.event.ProductChangedEvent;
+import com.diegoehg.onlinestore.exception.BadRequestException;
+import com.diegoehg.onlinestore.exception.PreconditionFailedException;
 import com.diegoehg.onlinestore.exception.ResourceNotFoundException;
+import com.diegoehg.onlinestore.model.CursorPagedResponse;
+import com.diegoehg.onlinestore.model.MultiGetResponse;
 import com.diegoehg.onlinestore.model.PagedResponse;
 import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
 import com.diegoehg.onlinestore.repository.ProductRepository;
+import com.diegoehg.onlinestore.repository.ProductSpecifications;
+import com.diegoehg.onlinestore.search.ProductSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the ProductService interface
  */
 @Service
+@Timed(value = "onlinestore.service", percentiles = {0.5, 0.95, 0.99})
 public class ProductServiceImpl implements ProductService {
 
+    private static final String CURSOR_PREFIX = "id:";
+    private static final List<String> SORTABLE_PROPERTIES = List.of("id", "price", "title");
+
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final EntityManager entityManager;
 
     @Autowired
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, ProductSearchIndex productSearchIndex,
+                              ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+                              Validator validator, EntityManager entityManager) {
         this.productRepository = productRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.entityManager = entityManager;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDTO> getAllProducts() {
         List<Product> products = productRepository.findAll();
         return EntityDTOMapper.toProductDTOList(products);
     }
 
     @Override
-    public PagedResponse<ProductDTO> getProductsPaginated(int page, int size) {
-        Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Product> productPage = productRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public PagedResponse<ProductDTO> getProductsPaginated(int page, int size, ProductFilter filter) {
+        Pageable pageable = PageRequest.of(page - 1, size, toSort(filter));
+        Page<Product> productPage = productRepository.findAll(ProductSpecifications.matching(filter), pageable);
 
         List<ProductDTO> productDTOs = EntityDTOMapper.toProductDTOList(productPage.getContent());
 
@@ -52,28 +114,264 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<ProductSummaryDTO> getProductSummariesPaginated(int page, int size) {
+        Pageable pageable = PageRequest.of(page - 1, size);
+        Page<ProductSummaryDTO> summaryPage = productRepository.findSummariesBy(pageable);
+
+        return new PagedResponse<>(
+                summaryPage.getContent(),
+                page,
+                size,
+                summaryPage.getTotalElements(),
+                summaryPage.getTotalPages(),
+                summaryPage.isLast(),
+                summaryPage.isFirst()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public PagedResponse<ProductVersionDTO> getProductVersionsPaginated(int page, int size, ProductFilter filter) {
+        Pageable pageable = PageRequest.of(page - 1, size, toSort(filter));
+        // Only IDs and versions are selected, with the same filter and sort as the listing
+        Page<ProductVersionDTO> versionPage =
+                productRepository.findVersions(ProductSpecifications.matching(filter), pageable);
+
+        return new PagedResponse<>(
+                versionPage.getContent(),
+                page,
+                size,
+                versionPage.getTotalElements(),
+                versionPage.getTotalPages(),
+                versionPage.isLast(),
+                versionPage.isFirst()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public Long getProductVersion(Long id) {
+        return productRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", String.valueOf(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ProductDTO> getProductsAfter(String after, int size, ProductFilter filter) {
+        // The cursor is the last ID seen, so it can only walk the products in ID order
+        if (!toSort(filter).equals(Sort.by(Sort.Direction.ASC, "id"))) {
+            throw new BadRequestException("Cursor pagination is ordered by ID; sort=" + filter.getSortBy()
+                    + " and direction=" + filter.getDirection() + " are not supported with after");
+        }
+        Slice<Product> productSlice = productRepository.findAfter(
+                ProductSpecifications.matching(filter), decodeCursor(after), size);
+
+        List<Product> products = productSlice.getContent();
+        String nextCursor = productSlice.hasNext()
+                ? encodeCursor(products.get(products.size() - 1).getId())
+                : null;
+
+        return new CursorPagedResponse<>(
+                EntityDTOMapper.toProductDTOList(products),
+                size,
+                nextCursor,
+                productSlice.hasNext()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public MultiGetResponse<ProductDTO> getProductsByIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        if (requestedIds.size() > MAX_MULTI_GET_IDS) {
+            throw new BadRequestException("At most " + MAX_MULTI_GET_IDS + " IDs can be requested at once");
+        }
+
+        // Cached products are served as is; only the rest are loaded
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCT_CACHE);
+        Map<Long, ProductDTO> found = new HashMap<>();
+        List<Long> uncachedIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            ProductDTO cached = cache != null ? cache.get(id, ProductDTO.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncachedIds.add(id);
+            }
+        }
+
+        if (!uncachedIds.isEmpty()) {
+            for (Product product : productRepository.findWithDetailsByIdIn(uncachedIds)) {
+                ProductDTO productDTO = EntityDTOMapper.toProductDTO(product);
+                found.put(product.getId(), productDTO);
+                if (cache != null) {
+                    cache.put(product.getId(), productDTO);
+                }
+            }
+        }
+
+        List<ProductDTO> content = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            ProductDTO productDTO = found.get(id);
+            if (productDTO != null) {
+                content.add(productDTO);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return new MultiGetResponse<>(content, missingIds);
+    }
+
+    @Override
+    public List<ProductSummaryDTO> searchProducts(String query, int limit) {
+        return productSearchIndex.search(query, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_CACHE, key = "#id")
     public ProductDTO getProductById(Long id) {
-        return EntityDTOMapper.toProductDTO(findById(id));
+        Product product = productRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", String.valueOf(id)));
+        return EntityDTOMapper.toProductDTO(product);
     }
 
     @Override
+    @Transactional
+    // A DTO carrying an existing ID overwrites that product, so its cached copy is dropped
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE}, key = "#result.id")
     public ProductDTO saveProduct(ProductDTO productDTO) {
-        Product product = EntityDTOMapper.toProduct(productDTO);
-        Product savedProduct = productRepository.save(product);
-        return EntityDTOMapper.toProductDTO(savedProduct);
+        if (productDTO.getId() == null) {
+            Product savedProduct = productRepository.save(EntityDTOMapper.toProduct(productDTO));
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, savedProduct.getId()));
+            return EntityDTOMapper.toProductDTO(savedProduct);
+        }
+
+        // The existing product is loaded and overwritten: a detached copy without its version
+        // would be taken for a new product and inserted
+        Product product = findById(productDTO.getId());
+        product.setTitle(productDTO.getTitle());
+        product.setDescription(productDTO.getDescription());
+        product.updateImages(productDTO.getImages());
+        product.setPrice(productDTO.getPrice());
+        product.setSeller(EntityDTOMapper.toSeller(productDTO.getSeller()));
+
+        // Flushing increments the version returned to the client
+        productRepository.flush();
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, product.getId()));
+        return EntityDTOMapper.toProductDTO(product);
     }
 
     @Override
+    @Transactional
+    public List<BatchItemResultDTO> saveProducts(List<ProductDTO> productDTOs) {
+        if (productDTOs.isEmpty() || productDTOs.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch must have between 1 and " + MAX_BATCH_SIZE + " products");
+        }
+
+        // Products to update are loaded with a single query
+        Set<Long> ids = productDTOs.stream()
+                .map(ProductDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> existingProducts = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BatchItemResultDTO> results = new ArrayList<>(productDTOs.size());
+        Map<BatchItemResultDTO, Product> savedProducts = new LinkedHashMap<>();
+        for (int i = 0; i < productDTOs.size(); i++) {
+            ProductDTO productDTO = productDTOs.get(i);
+
+            List<String> errors = validator.validate(productDTO).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (productDTO.getSeller() != null && productDTO.getSeller().getId() == null) {
+                // Sellers are referenced, not created, by products
+                errors.add("seller.id: Seller ID is required");
+            }
+            if (!errors.isEmpty()) {
+                results.add(new BatchItemResultDTO(i, productDTO.getId(), null, BatchItemResultDTO.Status.INVALID, errors));
+                continue;
+            }
+
+            Product product;
+            BatchItemResultDTO.Status status;
+            if (productDTO.getId() == null) {
+                product = EntityDTOMapper.toProduct(productDTO);
+                status = BatchItemResultDTO.Status.CREATED;
+            } else {
+                product = existingProducts.get(productDTO.getId());
+                if (product == null) {
+                    results.add(new BatchItemResultDTO(i, productDTO.getId(), null, BatchItemResultDTO.Status.NOT_FOUND,
+                            List.of("Product with ID " + productDTO.getId() + " not found.")));
+                    continue;
+                }
+                product.setTitle(productDTO.getTitle());
+                product.setDescription(productDTO.getDescription());
+                product.updateImages(productDTO.getImages());
+                product.setPrice(productDTO.getPrice());
+                product.setSeller(EntityDTOMapper.toSeller(productDTO.getSeller()));
+                status = BatchItemResultDTO.Status.UPDATED;
+            }
+
+            BatchItemResultDTO result = new BatchItemResultDTO(i, null, null, status, List.of());
+            results.add(result);
+            savedProducts.put(result, product);
+        }
+
+        // IDs come from the pooled sequence, so the inserts are sent in JDBC batches on flush.
+        // Flushing here also makes the new versions of the updated products available.
+        productRepository.saveAll(savedProducts.values());
+        productRepository.flush();
+
+        List<Long> createdIds = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        savedProducts.forEach((result, product) -> {
+            result.setId(product.getId());
+            result.setVersion(product.getVersion());
+            if (result.getStatus() == BatchItemResultDTO.Status.CREATED) {
+                createdIds.add(product.getId());
+            } else {
+                updatedIds.add(product.getId());
+            }
+        });
+
+        // One event per change type, so listeners reload the whole batch at once
+        if (!createdIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, createdIds));
+        }
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, updatedIds));
+        }
+        evictAfterCommit(updatedIds);
+
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE}, key = "#id")
     public void deleteProduct(Long id) {
         productRepository.deleteById(findById(id).getId());
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, id));
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE}, key = "#id")
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         Product product = findById(id);
         product.setTitle(productDTO.getTitle());
         product.setDescription(productDTO.getDescription());
-        product.setImages(productDTO.getImages());
+        product.updateImages(productDTO.getImages());
         product.setPrice(productDTO.getPrice());
         
         if (productDTO.getSeller() != null) {
@@ -81,11 +379,194 @@ public class ProductServiceImpl implements ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, id));
         return EntityDTOMapper.toProductDTO(updatedProduct);
     }
 
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE}, key = "#id")
+    public ProductDTO patchProduct(Long id, ProductPatchDTO patch) {
+        // Images are lazy, so they are only loaded when the patch changes them
+        Product product = findById(id);
+        if (patch.getTitle() != null) {
+            product.setTitle(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            product.setDescription(patch.getDescription());
+        }
+        if (patch.getImages() != null) {
+            product.updateImages(patch.getImages());
+        }
+        if (patch.getPrice() != null) {
+            product.setPrice(patch.getPrice());
+        }
+        if (patch.getSeller() != null) {
+            if (patch.getSeller().getId() == null) {
+                throw new BadRequestException("Seller ID is required");
+            }
+            product.setSeller(EntityDTOMapper.toSeller(patch.getSeller()));
+        }
+
+        // Flushing writes only the changed columns and images, and increments the version
+        productRepository.flush();
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, id));
+        return EntityDTOMapper.toProductDTO(product);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE}, key = "#id")
+    public Long updateProductIfMatch(Long id, Long expectedVersion, ProductDTO productDTO) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("title", productDTO.getTitle());
+        changes.put("description", productDTO.getDescription());
+        changes.put("price", productDTO.getPrice());
+        changes.put("seller", sellerReference(productDTO.getSeller()));
+        return updateIfMatch(id, expectedVersion, changes, productDTO.getImages());
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE}, key = "#id")
+    public Long patchProductIfMatch(Long id, Long expectedVersion, ProductPatchDTO patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getTitle() != null) {
+            changes.put("title", patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            changes.put("description", patch.getDescription());
+        }
+        if (patch.getPrice() != null) {
+            changes.put("price", patch.getPrice());
+        }
+        if (patch.getSeller() != null) {
+            changes.put("seller", sellerReference(patch.getSeller()));
+        }
+        return updateIfMatch(id, expectedVersion, changes, patch.getImages());
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE}, key = "#id")
+    public void deleteProductIfMatch(Long id, Long expectedVersion) {
+        if (productRepository.deleteByIdAndVersion(id, expectedVersion) == 0) {
+            throw failedPrecondition(id);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, id));
+    }
+
+    /**
+     * Applies changes to a product with a single UPDATE that also checks and increments its version
+     * @param changes The new values by attribute name
+     * @param images The new images, or null to keep them
+     * @return The new version of the product
+     */
+    private Long updateIfMatch(Long id, Long expectedVersion, Map<String, Object> changes, List<String> images) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = criteriaBuilder.createCriteriaUpdate(Product.class);
+        Root<Product> product = update.from(Product.class);
+        changes.forEach(update::set);
+        update.set(product.<Long>get("version"), criteriaBuilder.sum(product.<Long>get("version"), 1L));
+        update.where(
+                criteriaBuilder.equal(product.get("id"), id),
+                criteriaBuilder.equal(product.get("version"), expectedVersion));
+
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            throw failedPrecondition(id);
+        }
+
+        Long version = expectedVersion + 1;
+        if (images != null) {
+            // The row is locked by this transaction from now on, so the images can be compared safely.
+            // Hibernate counts changed images as a change of the product, and increments its version again.
+            Product updatedProduct = findById(id);
+            updatedProduct.updateImages(images);
+            productRepository.flush();
+            version = updatedProduct.getVersion();
+        }
+
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, id));
+        return version;
+    }
+
+    private Seller sellerReference(SellerDTO sellerDTO) {
+        if (sellerDTO.getId() == null) {
+            throw new BadRequestException("Seller ID is required");
+        }
+        return entityManager.getReference(Seller.class, sellerDTO.getId());
+    }
+
+    /**
+     * Tells why a conditional write matched no product: it does not exist, or it has another version
+     */
+    private RuntimeException failedPrecondition(Long id) {
+        return productRepository.existsById(id)
+                ? new PreconditionFailedException("Product", String.valueOf(id))
+                : new ResourceNotFoundException("Product", String.valueOf(id));
+    }
+
+    /**
+     * Evicts cached products once the current transaction commits, as {@link CacheEvict} does
+     * for single products. Reads that loaded the replaced state cannot put it back afterwards
+     * (see CacheConfig).
+     */
+    private void evictAfterCommit(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (String cacheName : List.of(CacheConfig.PRODUCT_CACHE, CacheConfig.PRODUCT_RESPONSE_CACHE)) {
+                    Cache cache = cacheManager.getCache(cacheName);
+                    if (cache != null) {
+                        ids.forEach(cache::evict);
+                    }
+                }
+            }
+        });
+    }
+
     private Product findById(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", String.valueOf(id)));
     }
-}
\ No newline at end of file
+
+    private static Sort toSort(ProductFilter filter) {
+        String property = filter.getSortBy() == null ? "id" : filter.getSortBy().toLowerCase(Locale.ROOT);
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new BadRequestException("Invalid sort: " + filter.getSortBy() + ". Supported values: " + SORTABLE_PROPERTIES);
+        }
+
+        Sort.Direction direction = Sort.Direction.fromOptionalString(
+                filter.getDirection() == null ? "asc" : filter.getDirection())
+                .orElseThrow(() -> new BadRequestException("Invalid sort direction: " + filter.getDirection()));
+
+        Sort sort = Sort.by(direction, property);
+        // The ID breaks ties, so pages are stable when the sort key repeats
+        return property.equals("id") ? sort : sort.and(Sort.by("id"));
+    }
+
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            // IDs are generated starting from 1, so 0 precedes every product
+            return 0L;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
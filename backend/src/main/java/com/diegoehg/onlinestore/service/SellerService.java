@@ -1,6 +1,10 @@
 package com.diegoehg.onlinestore.service;
 
 import com.diegoehg.onlinestore.dto.SellerDTO;
+import com.diegoehg.onlinestore.dto.SellerDetailDTO;
+import com.diegoehg.onlinestore.dto.SellerSummaryDTO;
+import com.diegoehg.onlinestore.exception.ResourceNotFoundException;
+import com.diegoehg.onlinestore.model.PagedResponse;
 
 import java.util.List;
 
@@ -10,8 +14,31 @@ import java.util.List;
 public interface SellerService {
 
     /**
-     * Retrieves all sellers
-     * @return List of all sellers as DTOs
+     * Maximum number of sellers returned by {@link #getAllSellers()}
      */
+    int MAX_LISTED_SELLERS = 100;
+
+    /**
+     * Retrieves the first {@value #MAX_LISTED_SELLERS} sellers by ID, with their payment methods
+     * @return List of sellers as DTOs
+     * @deprecated Use {@link #getSellerSummariesPaginated(int, int)}, which pages through all sellers
+     */
+    @Deprecated
     List<SellerDTO> getAllSellers();
-}
\ No newline at end of file
+
+    /**
+     * Retrieves seller summaries with pagination, ordered by ID
+     * @param page Page number (1-based)
+     * @param size Page size
+     * @return Paginated response with seller summaries
+     */
+    PagedResponse<SellerSummaryDTO> getSellerSummariesPaginated(int page, int size);
+
+    /**
+     * Retrieves a seller with its payment methods, product count and price range
+     * @param id The ID of the seller
+     * @return The seller details
+     * @throws ResourceNotFoundException if the seller is not found
+     */
+    SellerDetailDTO getSellerById(Long id);
+}
@@ -2,10 +2,20 @@ package com.diegoehg.onlinestore.service;
 
 import com.diegoehg.onlinestore.dto.EntityDTOMapper;
 import com.diegoehg.onlinestore.dto.SellerDTO;
+import com.diegoehg.onlinestore.dto.SellerDetailDTO;
+import com.diegoehg.onlinestore.dto.SellerSummaryDTO;
+import com.diegoehg.onlinestore.exception.ResourceNotFoundException;
+import com.diegoehg.onlinestore.model.PagedResponse;
 import com.diegoehg.onlinestore.model.Seller;
 import com.diegoehg.onlinestore.repository.SellerRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -14,6 +24,7 @@ import java.util.stream.Collectors;
  * Implementation of the SellerService interface
  */
 @Service
+@Timed(value = "onlinestore.service", percentiles = {0.5, 0.95, 0.99})
 public class SellerServiceImpl implements SellerService {
 
     private final SellerRepository sellerRepository;
@@ -24,10 +35,49 @@ public class SellerServiceImpl implements SellerService {
     }
 
     @Override
+    @Deprecated
+    @Transactional(readOnly = true)
     public List<SellerDTO> getAllSellers() {
-        List<Seller> sellers = sellerRepository.findAll();
+        List<Seller> sellers = sellerRepository.findByOrderByIdAsc(Limit.of(MAX_LISTED_SELLERS));
         return sellers.stream()
                 .map(EntityDTOMapper::toSellerDTO)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<SellerSummaryDTO> getSellerSummariesPaginated(int page, int size) {
+        Pageable pageable = PageRequest.of(page - 1, size);
+        Page<SellerSummaryDTO> summaryPage = sellerRepository.findSummariesBy(pageable);
+
+        return new PagedResponse<>(
+                summaryPage.getContent(),
+                page,
+                size,
+                summaryPage.getTotalElements(),
+                summaryPage.getTotalPages(),
+                summaryPage.isLast(),
+                summaryPage.isFirst()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SellerDetailDTO getSellerById(Long id) {
+        Seller seller = sellerRepository.findWithPaymentMethodsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Seller", String.valueOf(id)));
+        SellerSummaryDTO summary = sellerRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Seller", String.valueOf(id)));
+
+        return new SellerDetailDTO(
+                seller.getId(),
+                seller.getName(),
+                seller.getPaymentMethods().stream()
+                        .map(EntityDTOMapper::toPaymentMethodDTO)
+                        .collect(Collectors.toList()),
+                summary.getProductCount(),
+                summary.getMinPrice(),
+                summary.getMaxPrice()
+        );
+    }
+}
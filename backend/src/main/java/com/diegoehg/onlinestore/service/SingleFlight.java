@@ -0,0 +1,110 @@
+package com.diegoehg.onlinestore.service;
+
+import com.diegoehg.onlinestore.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into a single one.
+ *
+ * The first caller for a key runs the loader on its own thread; callers arriving while that load
+ * is in flight wait for it and get its result, or its exception, instead of loading again.
+ * Waiters give up after the timeout with a {@link ServiceUnavailableException}, so a stuck load
+ * does not hold their requests forever nor send them all to the database at once.
+ * Nothing is kept once a load completes: this is not a cache.
+ *
+ * @param <K> Type of the keys
+ * @param <V> Type of the loaded values
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final Duration timeout;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param name What is being loaded, for error messages (e.g. "Product")
+     * @param timeout How long callers wait for a load started by another caller
+     */
+    public SingleFlight(String name, Duration timeout) {
+        this.name = name;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Loads the value of a key, or waits for the load already in flight for that key
+     * @param key The key to load
+     * @param loader Loads the value when no load of the key is in flight
+     * @return The loaded value
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(key, existing);
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the load in flight for a key, if any, so later callers start a new load instead of
+     * joining it. Callers already waiting still get its result.
+     * @param key The key whose data changed
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Detaches every load in flight, see {@link #forget(Object)}
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    /**
+     * @return The number of loads in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(K key, CompletableFuture<V> flight) {
+        try {
+            return flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException(
+                    name + " " + key + " is taking too long to load, please try again later");
+        } catch (ExecutionException e) {
+            // The loader's own exception, so waiters fail exactly like the caller that loaded
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name + " " + key, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.diegoehg.onlinestore.benchmark;
+
+import com.diegoehg.onlinestore.model.PaymentMethod;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the entities used by the benchmarks, with the same shape as the bundled CSV data:
+ * 4 payment methods, sellers accepting 2 to 4 of them and products with 3 images.
+ */
+final class BenchmarkData {
+
+    static final int SELLER_COUNT = 10;
+
+    private BenchmarkData() {
+    }
+
+    static List<PaymentMethod> paymentMethods() {
+        List<PaymentMethod> paymentMethods = new ArrayList<>();
+        for (String name : List.of("VISA Credit Card", "MasterCard Debit Card", "PayPal", "Bank Transfer")) {
+            paymentMethods.add(new PaymentMethod(name));
+        }
+        return paymentMethods;
+    }
+
+    static List<Seller> sellers(List<PaymentMethod> paymentMethods) {
+        List<Seller> sellers = new ArrayList<>();
+        for (int i = 0; i < SELLER_COUNT; i++) {
+            Seller seller = new Seller("Seller " + i);
+            for (int j = 0; j < 2 + i % 3; j++) {
+                seller.addPaymentMethod(paymentMethods.get(j));
+            }
+            sellers.add(seller);
+        }
+        return sellers;
+    }
+
+    static List<Product> products(int count, List<Seller> sellers) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new Product(
+                    "Product " + i,
+                    "Description of product " + i + ", long enough to look like a real catalog description.",
+                    new ArrayList<>(List.of(
+                            "https://example.com/images/product" + i + "-1.jpg",
+                            "https://example.com/images/product" + i + "-2.jpg",
+                            "https://example.com/images/product" + i + "-3.jpg")),
+                    new BigDecimal("19.99").add(BigDecimal.valueOf(i)),
+                    sellers.get(i % sellers.size())
+            ));
+        }
+        return products;
+    }
+
+    /**
+     * Builds detached entities with IDs, as they would be after being loaded
+     */
+    static List<Product> detachedProducts(int count) {
+        List<PaymentMethod> paymentMethods = paymentMethods();
+        for (int i = 0; i < paymentMethods.size(); i++) {
+            paymentMethods.get(i).setId((long) i + 1);
+        }
+
+        List<Seller> sellers = sellers(paymentMethods);
+        for (int i = 0; i < sellers.size(); i++) {
+            sellers.get(i).setId((long) i + 1);
+        }
+
+        List<Product> products = products(count, sellers);
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setId((long) i + 1);
+            products.get(i).setVersion(0L);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,45 @@
+package com.diegoehg.onlinestore.benchmark;
+
+import com.diegoehg.onlinestore.dto.EntityDTOMapper;
+import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.dto.SellerDTO;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity to DTO mapping of a listing page
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityDTOMapperBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int pageSize;
+
+    private List<Product> products;
+    private Seller seller;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.detachedProducts(pageSize);
+        seller = products.get(0).getSeller();
+    }
+
+    @Benchmark
+    public List<ProductDTO> toProductDTOList() {
+        return EntityDTOMapper.toProductDTOList(products);
+    }
+
+    @Benchmark
+    public SellerDTO toSellerDTO() {
+        return EntityDTOMapper.toSellerDTO(seller);
+    }
+}
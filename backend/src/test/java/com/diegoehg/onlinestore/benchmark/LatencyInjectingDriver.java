@@ -0,0 +1,107 @@
+package com.diegoehg.onlinestore.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver for benchmarks that delegates to the embedded H2 driver and waits a fixed time on
+ * every database round-trip (statement executions, commits and rollbacks), standing in for the
+ * network latency of a database server. An in-memory database answers in microseconds, so without
+ * it connections are held for far less time than in production and the pool is never contended.
+ *
+ * It is selected with spring.datasource.driver-class-name, below the connection pool, so the pool
+ * is configured as usual; the wait is set with {@link #setLatency(Duration)}.
+ */
+public class LatencyInjectingDriver implements Driver {
+
+    private static final Set<String> ROUND_TRIPS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch",
+            "commit", "rollback");
+
+    private static volatile Duration latency = Duration.ZERO;
+
+    private final Driver target = new org.h2.Driver();
+
+    /**
+     * Sets the wait added to every round-trip of the connections opened from now on
+     */
+    public static void setLatency(Duration latency) {
+        LatencyInjectingDriver.latency = latency;
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        Connection connection = target.connect(url, info);
+        return connection != null ? withLatency(Connection.class, connection, latency) : null;
+    }
+
+    @Override
+    public boolean acceptsURL(String url) throws SQLException {
+        return target.acceptsURL(url);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+        return target.getPropertyInfo(url, info);
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return target.getMajorVersion();
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return target.getMinorVersion();
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return target.jdbcCompliant();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    /**
+     * Wraps a connection or statement so its round-trips wait first. Statements created by the
+     * wrapped object are wrapped as well.
+     */
+    private static <T> T withLatency(Class<T> type, T target, Duration latency) {
+        return type.cast(Proxy.newProxyInstance(LatencyInjectingDriver.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (ROUND_TRIPS.contains(method.getName())) {
+                        Thread.sleep(latency);
+                    }
+
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return wrapStatement(method.getReturnType(), result, latency);
+                    }
+                    return result;
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Object wrapStatement(Class<?> type, Object statement, Duration latency) {
+        return withLatency((Class<T>) type, (T) statement, latency);
+    }
+}
@@ -0,0 +1,82 @@
+package com.diegoehg.onlinestore.benchmark;
+
+import com.diegoehg.onlinestore.OnlineStoreApplication;
+import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.dto.ProductFilter;
+import com.diegoehg.onlinestore.model.PagedResponse;
+import com.diegoehg.onlinestore.model.PaymentMethod;
+import com.diegoehg.onlinestore.model.Seller;
+import com.diegoehg.onlinestore.repository.PaymentMethodRepository;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import com.diegoehg.onlinestore.repository.SellerRepository;
+import com.diegoehg.onlinestore.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ProductService.getProductsPaginated end to end (queries, mapping) against an embedded H2 database
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 5_000;
+
+    @Param({"10", "50", "200"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private int pageCount;
+    private int page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OnlineStoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "app.data-initializer.enabled=false")
+                .run();
+
+        List<PaymentMethod> paymentMethods = context.getBean(PaymentMethodRepository.class)
+                .saveAll(BenchmarkData.paymentMethods());
+        List<Seller> sellers = context.getBean(SellerRepository.class)
+                .saveAll(BenchmarkData.sellers(paymentMethods));
+        context.getBean(ProductRepository.class)
+                .saveAll(BenchmarkData.products(CATALOG_SIZE, sellers));
+
+        productService = context.getBean(ProductService.class);
+        pageCount = CATALOG_SIZE / pageSize;
+        page = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedResponse<ProductDTO> getProductsPaginated() {
+        // Walk through every page, so the results are not skewed by a single page
+        page = page % pageCount + 1;
+        return productService.getProductsPaginated(page, pageSize, new ProductFilter());
+    }
+}
@@ -0,0 +1,107 @@
+package com.diegoehg.onlinestore.benchmark;
+
+import com.diegoehg.onlinestore.OnlineStoreApplication;
+import com.diegoehg.onlinestore.model.PaymentMethod;
+import com.diegoehg.onlinestore.model.Seller;
+import com.diegoehg.onlinestore.repository.PaymentMethodRepository;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import com.diegoehg.onlinestore.repository.SellerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing request handling on Tomcat's platform-thread pool with the virtual-thread mode.
+ * Many concurrent clients request listing pages and product details over HTTP; the sample-time mode
+ * reports throughput together with latency percentiles (p50, p90, p99, p99.9) for both modes.
+ *
+ * Both modes differ in how they wait on the database, so every request has to reach it: the
+ * product caches and the second-level cache are turned off, and every round-trip to the embedded
+ * database waits databaseLatencyMillis (see {@link LatencyInjectingDriver}), like a database server
+ * over the network would.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class RequestExecutionModeBenchmark {
+
+    private static final int CATALOG_SIZE = 5_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1"})
+    public int databaseLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LatencyInjectingDriver.setLatency(Duration.ofMillis(databaseLatencyMillis));
+        context = new SpringApplicationBuilder(OnlineStoreApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=" + LatencyInjectingDriver.class.getName(),
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=none",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "app.data-initializer.enabled=false")
+                .run();
+
+        List<PaymentMethod> paymentMethods = context.getBean(PaymentMethodRepository.class)
+                .saveAll(BenchmarkData.paymentMethods());
+        List<Seller> sellers = context.getBean(SellerRepository.class)
+                .saveAll(BenchmarkData.sellers(paymentMethods));
+        context.getBean(ProductRepository.class)
+                .saveAll(BenchmarkData.products(CATALOG_SIZE, sellers));
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getProductsPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(1, CATALOG_SIZE / 20 + 1);
+        return get("/api/products?page=" + page + "&size=20");
+    }
+
+    @Benchmark
+    public int getProductById() throws IOException, InterruptedException {
+        int id = ThreadLocalRandom.current().nextInt(1, CATALOG_SIZE + 1);
+        return get("/api/products/" + id);
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,45 @@
+package com.diegoehg.onlinestore.benchmark;
+
+import com.diegoehg.onlinestore.dto.EntityDTOMapper;
+import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.model.PagedResponse;
+import com.diegoehg.onlinestore.model.Response;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialization of a listing response, as written by the controllers
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Response<PagedResponse<ProductDTO>> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper configured by Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ProductDTO> products = EntityDTOMapper.toProductDTOList(BenchmarkData.detachedProducts(pageSize));
+        response = Response.success(new PagedResponse<>(products, 1, pageSize, 10_000, 10_000 / pageSize, false, true), 200);
+    }
+
+    @Benchmark
+    public byte[] serializePagedResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,92 @@
+package com.diegoehg.onlinestore.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvictionGuardedCacheTest {
+
+    private final EvictionGuardedCache cache = new EvictionGuardedCache("products", Caffeine.newBuilder().build(), true);
+
+    @Test
+    void testValueLoadedAfterMissIsCached() {
+        // Act
+        assertNull(cache.get(1L));
+        cache.put(1L, "Laptop");
+
+        // Assert
+        assertEquals("Laptop", cache.get(1L, String.class));
+    }
+
+    @Test
+    void testValueLoadedBeforeEvictionIsDropped() {
+        // Arrange: the value is loaded after a miss, then a write commits and evicts the key
+        assertNull(cache.get(1L));
+        cache.evict(1L);
+
+        // Act
+        cache.put(1L, "Old laptop");
+
+        // Assert
+        assertNull(cache.get(1L));
+        cache.put(1L, "Updated laptop");
+        assertEquals("Updated laptop", cache.get(1L, String.class));
+    }
+
+    @Test
+    void testValueLoadedBeforeClearIsDropped() {
+        // Arrange
+        assertNull(cache.get(1L));
+        cache.clear();
+
+        // Act
+        cache.put(1L, "Old laptop");
+
+        // Assert
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testEvictionOfAnotherKeyDoesNotDropValue() {
+        // Arrange: several misses, as a multi-get does before loading the missing products
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        cache.evict(2L);
+
+        // Act
+        cache.put(1L, "Laptop");
+        cache.put(2L, "Old smartphone");
+
+        // Assert
+        assertEquals("Laptop", cache.get(1L, String.class));
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void testMissOfAnotherKeyDoesNotGuardPut() {
+        // Arrange: the thread missed another key, then this key is evicted
+        assertNull(cache.get(1L));
+        cache.evict(2L);
+
+        // Act
+        cache.put(2L, "Smartphone");
+
+        // Assert
+        assertEquals("Smartphone", cache.get(2L, String.class));
+    }
+
+    @Test
+    void testMissIsForgottenOncePut() {
+        // Arrange
+        assertNull(cache.get(1L));
+        cache.put(1L, "Laptop");
+        cache.evict(1L);
+
+        // Act: a later put on the same thread is not checked against the earlier miss
+        cache.put(1L, "Updated laptop");
+
+        // Assert
+        assertEquals("Updated laptop", cache.get(1L, String.class));
+    }
+}
@@ -0,0 +1,44 @@
+package com.diegoehg.onlinestore.controller;
+
+import com.diegoehg.onlinestore.dto.CacheStatsDTO;
+import com.diegoehg.onlinestore.service.CacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheController.class)
+public class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheService cacheService;
+
+    @Test
+    public void testGetCacheStats() throws Exception {
+        CacheStatsDTO productStats = new CacheStatsDTO("products", 42, 900, 100, 0.9, 3);
+
+        when(cacheService.getCacheStats()).thenReturn(List.of(productStats));
+
+        mockMvc.perform(get("/api/caches/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].name").value("products"))
+                .andExpect(jsonPath("$.data[0].size").value(42))
+                .andExpect(jsonPath("$.data[0].hitCount").value(900))
+                .andExpect(jsonPath("$.data[0].missCount").value(100))
+                .andExpect(jsonPath("$.data[0].hitRate").value(0.9))
+                .andExpect(jsonPath("$.data[0].evictionCount").value(3));
+    }
+}
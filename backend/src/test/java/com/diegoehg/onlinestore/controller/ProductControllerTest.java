@@ -1,40 +1,91 @@
 package com.diegoehg.onlinestore.controller;
 
+import com.diegoehg.onlinestore.dto.BatchItemResultDTO;
+import com.diegoehg.onlinestore.dto.ProductChangeDTO;
 import com.diegoehg.onlinestore.dto.ProductDTO;
+import com.diegoehg.onlinestore.dto.ProductFilter;
+import com.diegoehg.onlinestore.dto.ProductPatchDTO;
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
+import com.diegoehg.onlinestore.dto.ProductVersionDTO;
 import com.diegoehg.onlinestore.dto.SellerDTO;
+import com.diegoehg.onlinestore.event.ProductChangeFeed;
+import com.diegoehg.onlinestore.event.ProductChangedEvent;
+import com.diegoehg.onlinestore.exception.BadRequestException;
+import com.diegoehg.onlinestore.exception.PreconditionFailedException;
 import com.diegoehg.onlinestore.exception.ResourceNotFoundException;
+import com.diegoehg.onlinestore.model.ChangeLogResponse;
+import com.diegoehg.onlinestore.model.CursorPagedResponse;
+import com.diegoehg.onlinestore.model.ExportFormat;
+import com.diegoehg.onlinestore.model.MultiGetResponse;
 import com.diegoehg.onlinestore.model.PagedResponse;
 import com.diegoehg.onlinestore.model.ResponseStatus;
+import com.diegoehg.onlinestore.service.ProductExportService;
 import com.diegoehg.onlinestore.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import({ProductResponseCache.class, ProductReadCoalescer.class})
 class ProductControllerTest {
 
+    @TestConfiguration
+    static class CacheTestConfig {
+        // Rendered responses are not cached across tests, they are rendered on every request
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductExportService productExportService;
+
+    @MockBean
+    private ProductChangeFeed productChangeFeed;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -50,6 +101,7 @@ class ProductControllerTest {
         product1.setDescription("Description for product 1");
         product1.setImages(Arrays.asList("image1.jpg", "image2.jpg"));
         product1.setPrice(new BigDecimal("99.99"));
+        product1.setVersion(0L);
 
         product2 = new ProductDTO();
         product2.setId(2L);
@@ -57,6 +109,7 @@ class ProductControllerTest {
         product2.setDescription("Description for product 2");
         product2.setImages(Arrays.asList("image3.jpg", "image4.jpg"));
         product2.setPrice(new BigDecimal("149.99"));
+        product2.setVersion(3L);
 
         productList = Arrays.asList(product1, product2);
     }
@@ -73,7 +126,7 @@ class ProductControllerTest {
                 true
         );
 
-        when(productService.getProductsPaginated(1, 10)).thenReturn(pagedResponse);
+        when(productService.getProductsPaginated(eq(1), eq(10), any(ProductFilter.class))).thenReturn(pagedResponse);
 
         mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
@@ -105,7 +158,7 @@ class ProductControllerTest {
             true
         );
         
-        when(productService.getProductsPaginated(6, 10)).thenReturn(pagedResponse);
+        when(productService.getProductsPaginated(eq(6), eq(10), any(ProductFilter.class))).thenReturn(pagedResponse);
 
         mockMvc.perform(get("/api/products?page=6&size=10"))
                 .andExpect(status().isOk())
@@ -125,6 +178,265 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.content[1].title", is("Product 2")));
     }
 
+    @Test
+    void getAllProducts_returnsETag() throws Exception {
+        PagedResponse<ProductDTO> pagedResponse = new PagedResponse<>(productList, 1, 10, 2, 1, true, true);
+
+        when(productService.getProductsPaginated(eq(1), eq(10), any(ProductFilter.class))).thenReturn(pagedResponse);
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.forPage(pagedResponse, ProductDTO::getId, ProductDTO::getVersion)));
+    }
+
+    @Test
+    void getAllProducts_whenPageIsNotModified() throws Exception {
+        PagedResponse<ProductVersionDTO> versions = new PagedResponse<>(
+                Arrays.asList(new ProductVersionDTO(1L, 0L), new ProductVersionDTO(2L, 3L)),
+                1, 10, 2, 1, true, true);
+        PagedResponse<ProductDTO> pagedResponse = new PagedResponse<>(productList, 1, 10, 2, 1, true, true);
+        String eTag = ETags.forPage(pagedResponse, ProductDTO::getId, ProductDTO::getVersion);
+
+        when(productService.getProductVersionsPaginated(eq(1), eq(10), any(ProductFilter.class))).thenReturn(versions);
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductsPaginated(anyInt(), anyInt(), any(ProductFilter.class));
+    }
+
+    @Test
+    void getAllProducts_asCbor() throws Exception {
+        PagedResponse<ProductDTO> pagedResponse = new PagedResponse<>(productList, 1, 10, 2, 1, true, true);
+
+        when(productService.getProductsPaginated(eq(1), eq(10), any(ProductFilter.class))).thenReturn(pagedResponse);
+
+        MvcResult result = mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("SUCCESS", body.at("/status").asText());
+        assertEquals(2, body.at("/data/content").size());
+        assertEquals("Product 2", body.at("/data/content/1/title").asText());
+    }
+
+    @Test
+    void getAllProducts_withFilterAndSort() throws Exception {
+        PagedResponse<ProductDTO> pagedResponse = new PagedResponse<>(List.of(product2), 1, 10, 1, 1, true, true);
+        ArgumentCaptor<ProductFilter> filterCaptor = ArgumentCaptor.forClass(ProductFilter.class);
+
+        when(productService.getProductsPaginated(eq(1), eq(10), filterCaptor.capture())).thenReturn(pagedResponse);
+
+        mockMvc.perform(get("/api/products?sellerId=4&minPrice=100&maxPrice=200&paymentMethodId=2&sort=price&direction=desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].id", is(2)));
+
+        ProductFilter filter = filterCaptor.getValue();
+        assertEquals(4L, filter.getSellerId());
+        assertEquals(new BigDecimal("100"), filter.getMinPrice());
+        assertEquals(new BigDecimal("200"), filter.getMaxPrice());
+        assertEquals(2L, filter.getPaymentMethodId());
+        assertEquals("price", filter.getSortBy());
+        assertEquals("desc", filter.getDirection());
+    }
+
+    @Test
+    void getAllProducts_whenSortIsInvalid() throws Exception {
+        when(productService.getProductsPaginated(eq(1), eq(10), any(ProductFilter.class)))
+                .thenThrow(new BadRequestException("Invalid sort: stock. Supported values: [id, price, title]"));
+
+        mockMvc.perform(get("/api/products?sort=stock"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(ResponseStatus.ERROR.toString())))
+                .andExpect(jsonPath("$.message", is("Invalid sort: stock. Supported values: [id, price, title]")));
+    }
+
+    @Test
+    void getProductsByIds_preservesOrderAndReportsMissing() throws Exception {
+        MultiGetResponse<ProductDTO> multiGetResponse = new MultiGetResponse<>(
+                Arrays.asList(product2, product1), List.of(7L));
+
+        when(productService.getProductsByIds(List.of(2L, 7L, 1L))).thenReturn(multiGetResponse);
+
+        mockMvc.perform(get("/api/products?ids=2,7,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is(ResponseStatus.SUCCESS.toString())))
+                .andExpect(jsonPath("$.data.content", hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].id", is(2)))
+                .andExpect(jsonPath("$.data.content[1].id", is(1)))
+                .andExpect(jsonPath("$.data.missingIds", contains(7)));
+
+        verify(productService, never()).getProductsPaginated(anyInt(), anyInt(), any(ProductFilter.class));
+    }
+
+    @Test
+    void getProductsAfter_firstPage() throws Exception {
+        CursorPagedResponse<ProductDTO> cursorResponse = new CursorPagedResponse<>(
+                productList,
+                2,
+                "aWQ6Mg",
+                true
+        );
+
+        when(productService.getProductsAfter(eq(""), eq(2), any(ProductFilter.class))).thenReturn(cursorResponse);
+
+        mockMvc.perform(get("/api/products?after=&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(ResponseStatus.SUCCESS.toString())))
+                .andExpect(jsonPath("$.code", is(200)))
+                .andExpect(jsonPath("$.data.content", hasSize(2)))
+                .andExpect(jsonPath("$.data.size", is(2)))
+                .andExpect(jsonPath("$.data.nextCursor", is("aWQ6Mg")))
+                .andExpect(jsonPath("$.data.hasNext", is(true)))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+
+        verify(productService, never()).getProductsPaginated(anyInt(), anyInt(), any(ProductFilter.class));
+    }
+
+    @Test
+    void getProductsAfter_withFilter() throws Exception {
+        ArgumentCaptor<ProductFilter> filterCaptor = ArgumentCaptor.forClass(ProductFilter.class);
+        when(productService.getProductsAfter(eq("aWQ6Mg"), eq(10), filterCaptor.capture()))
+                .thenReturn(new CursorPagedResponse<>(List.of(product1), 10, null, false));
+
+        mockMvc.perform(get("/api/products?after=aWQ6Mg&sellerId=1&minPrice=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)));
+
+        ProductFilter filter = filterCaptor.getValue();
+        assertEquals(1L, filter.getSellerId());
+        assertEquals(new BigDecimal("50"), filter.getMinPrice());
+        assertEquals("id", filter.getSortBy());
+    }
+
+    @Test
+    void getProductsAfter_whenCursorIsInvalid() throws Exception {
+        BadRequestException exception = new BadRequestException("Invalid cursor: bogus");
+
+        when(productService.getProductsAfter(eq("bogus"), eq(10), any(ProductFilter.class))).thenThrow(exception);
+
+        mockMvc.perform(get("/api/products?after=bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(ResponseStatus.ERROR.toString())))
+                .andExpect(jsonPath("$.code", is(400)))
+                .andExpect(jsonPath("$.message", is(exception.getMessage())));
+    }
+
+    @Test
+    void getProductSummaries() throws Exception {
+        PagedResponse<ProductSummaryDTO> pagedResponse = new PagedResponse<>(
+                Arrays.asList(
+                        new ProductSummaryDTO(1L, "Product 1", new BigDecimal("99.99"), "image1.jpg", 1L, "Seller 1"),
+                        new ProductSummaryDTO(2L, "Product 2", new BigDecimal("149.99"), "image3.jpg", 2L, "Seller 2")),
+                1,
+                10,
+                2,
+                1,
+                true,
+                true
+        );
+
+        when(productService.getProductSummariesPaginated(1, 10)).thenReturn(pagedResponse);
+
+        mockMvc.perform(get("/api/products/summaries"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(ResponseStatus.SUCCESS.toString())))
+                .andExpect(jsonPath("$.data.content", hasSize(2)))
+                .andExpect(jsonPath("$.data.totalElements", is(2)))
+                .andExpect(jsonPath("$.data.content[0].id", is(1)))
+                .andExpect(jsonPath("$.data.content[0].title", is("Product 1")))
+                .andExpect(jsonPath("$.data.content[0].image", is("image1.jpg")))
+                .andExpect(jsonPath("$.data.content[0].sellerId", is(1)))
+                .andExpect(jsonPath("$.data.content[0].sellerName", is("Seller 1")))
+                .andExpect(jsonPath("$.data.content[0].description").doesNotExist());
+    }
+
+    @Test
+    void searchProducts() throws Exception {
+        List<ProductSummaryDTO> results = Arrays.asList(
+                new ProductSummaryDTO(2L, "Product 2", new BigDecimal("149.99"), "image3.jpg", 2L, "Seller 2"),
+                new ProductSummaryDTO(1L, "Product 1", new BigDecimal("99.99"), "image1.jpg", 1L, "Seller 1"));
+
+        when(productService.searchProducts("product", 20)).thenReturn(results);
+
+        mockMvc.perform(get("/api/products/search?q=product"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is(ResponseStatus.SUCCESS.toString())))
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id", is(2)))
+                .andExpect(jsonPath("$.data[1].id", is(1)));
+    }
+
+    @Test
+    void getChangesSince() throws Exception {
+        ChangeLogResponse<ProductChangeDTO> changes = new ChangeLogResponse<>(
+                List.of(
+                        new ProductChangeDTO(6L, ProductChangedEvent.ChangeType.UPDATED, 1L, product1, Instant.now()),
+                        new ProductChangeDTO(7L, ProductChangedEvent.ChangeType.DELETED, 2L, null, Instant.now())
+                ),
+                7L,
+                true
+        );
+        when(productChangeFeed.getChangesSince(5L)).thenReturn(changes);
+
+        mockMvc.perform(get("/api/products/changes").param("since", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.latestSequence", is(7)))
+                .andExpect(jsonPath("$.data.complete", is(true)))
+                .andExpect(jsonPath("$.data.content", hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.data.content[0].product.title", is("Product 1")))
+                .andExpect(jsonPath("$.data.content[1].type", is("DELETED")))
+                .andExpect(jsonPath("$.data.content[1].productId", is(2)));
+    }
+
+    @Test
+    void exportProducts_asNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(productExportService).exportProducts(eq(ExportFormat.NDJSON), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void exportProducts_asCsv() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/products/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"));
+
+        verify(productExportService).exportProducts(eq(ExportFormat.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    void exportProducts_whenFormatIsNotSupported() throws Exception {
+        mockMvc.perform(get("/api/products/export?format=xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(ResponseStatus.ERROR.toString())))
+                .andExpect(jsonPath("$.code", is(400)));
+    }
+
     @Test
     void getProductById_whenProductExists() throws Exception {
         when(productService.getProductById(1L)).thenReturn(product1);
@@ -138,6 +450,73 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.title", is("Product 1")));
     }
 
+    @Test
+    void getProductById_returnsETag() throws Exception {
+        when(productService.getProductById(1L)).thenReturn(product1);
+
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""))
+                .andExpect(jsonPath("$.data.version", is(0)));
+    }
+
+    @Test
+    void getProductById_whenGzipIsAccepted() throws Exception {
+        when(productService.getProductById(1L)).thenReturn(product1);
+
+        MvcResult result = mockMvc.perform(get("/api/products/1").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(header().string("ETag", "\"1-0-gz\""))
+                .andReturn();
+
+        try (GZIPInputStream gzipStream = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String json = new String(gzipStream.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("Product 1", objectMapper.readTree(json).at("/data/title").asText());
+        }
+    }
+
+    @Test
+    void getProductById_asSmile() throws Exception {
+        when(productService.getProductById(1L)).thenReturn(product1);
+
+        MvcResult result = mockMvc.perform(get("/api/products/1")
+                        .header("Accept", "application/json;q=0.5, application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("ETag", "\"1-0-smile\""))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("Product 1", body.at("/data/title").asText());
+    }
+
+    @Test
+    void getProductById_whenProductIsNotModified() throws Exception {
+        when(productService.getProductVersion(1L)).thenReturn(0L);
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-0\""))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductById(anyLong());
+    }
+
+    @Test
+    void getProductById_whenProductWasModified() throws Exception {
+        product1.setVersion(1L);
+        when(productService.getProductVersion(1L)).thenReturn(1L);
+        when(productService.getProductById(1L)).thenReturn(product1);
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1\""))
+                .andExpect(jsonPath("$.data.version", is(1)));
+    }
+
     @Test
     void getProductById_whenProductDoesNotExist() throws Exception {
         ResourceNotFoundException exception = new ResourceNotFoundException("Product", "3");
@@ -186,6 +565,29 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.title", is("New Product")));
     }
 
+    @Test
+    void saveProducts_reportsEveryItem() throws Exception {
+        List<BatchItemResultDTO> results = Arrays.asList(
+                new BatchItemResultDTO(0, 51L, 0L, BatchItemResultDTO.Status.CREATED, List.of()),
+                new BatchItemResultDTO(1, 2L, 4L, BatchItemResultDTO.Status.UPDATED, List.of()),
+                new BatchItemResultDTO(2, null, null, BatchItemResultDTO.Status.INVALID, List.of("title: Title is required")));
+
+        when(productService.saveProducts(anyList())).thenReturn(results);
+
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(product1, product2, new ProductDTO()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is(ResponseStatus.SUCCESS.toString())))
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.data[0].id", is(51)))
+                .andExpect(jsonPath("$.data[1].status", is("UPDATED")))
+                .andExpect(jsonPath("$.data[1].version", is(4)))
+                .andExpect(jsonPath("$.data[2].status", is("INVALID")))
+                .andExpect(jsonPath("$.data[2].errors[0]", is("title: Title is required")));
+    }
+
     @Test
     void updateProduct_whenProductExists() throws Exception {
         SellerDTO seller = new SellerDTO();
@@ -247,6 +649,103 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.message", is(exception.getMessage())));
     }
 
+    @Test
+    void patchProduct_appliesOnlySuppliedFields() throws Exception {
+        ProductDTO patchedProduct = new ProductDTO();
+        patchedProduct.setId(1L);
+        patchedProduct.setTitle("Product 1");
+        patchedProduct.setPrice(new BigDecimal("89.99"));
+        patchedProduct.setVersion(1L);
+
+        when(productService.patchProduct(eq(1L), any(ProductPatchDTO.class))).thenReturn(patchedProduct);
+
+        mockMvc.perform(patch("/api/products/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\": 89.99}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.price", is(89.99)))
+                .andExpect(jsonPath("$.data.version", is(1)));
+
+        ArgumentCaptor<ProductPatchDTO> patch = ArgumentCaptor.forClass(ProductPatchDTO.class);
+        verify(productService).patchProduct(eq(1L), patch.capture());
+        assertEquals(new BigDecimal("89.99"), patch.getValue().getPrice());
+        assertNull(patch.getValue().getTitle());
+        assertNull(patch.getValue().getImages());
+    }
+
+    @Test
+    void patchProduct_whenFieldIsInvalid() throws Exception {
+        mockMvc.perform(patch("/api/products/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \" \", \"price\": -1}"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).patchProduct(anyLong(), any(ProductPatchDTO.class));
+    }
+
+    @Test
+    void updateProduct_whenIfMatchMatches() throws Exception {
+        SellerDTO seller = new SellerDTO();
+        seller.setId(1L);
+        product2.setSeller(seller);
+        ProductDTO savedProduct = new ProductDTO(2L, "Product 2", "Description for product 2",
+                product2.getImages(), product2.getPrice(), seller);
+        savedProduct.setVersion(4L);
+
+        when(productService.updateProductIfMatch(eq(2L), eq(3L), any(ProductDTO.class))).thenReturn(4L);
+        when(productService.getProductById(2L)).thenReturn(savedProduct);
+
+        mockMvc.perform(put("/api/products/2")
+                .header("If-Match", "\"2-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(product2)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-4\""))
+                .andExpect(jsonPath("$.data.version", is(4)));
+
+        verify(productService, never()).updateProduct(anyLong(), any(ProductDTO.class));
+    }
+
+    @Test
+    void patchProduct_whenIfMatchMatchesAndMinimalReturnIsPreferred() throws Exception {
+        when(productService.patchProductIfMatch(eq(1L), eq(0L), any(ProductPatchDTO.class))).thenReturn(1L);
+
+        // The ETag of any representation of the product matches
+        mockMvc.perform(patch("/api/products/1")
+                .header("If-Match", "\"1-0-gz\"")
+                .header("Prefer", "return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\": 89.99}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"1-1\""));
+
+        verify(productService, never()).getProductById(anyLong());
+    }
+
+    @Test
+    void patchProduct_whenIfMatchIsForAnotherProduct() throws Exception {
+        mockMvc.perform(patch("/api/products/1")
+                .header("If-Match", "\"2-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\": 89.99}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService, never()).patchProductIfMatch(anyLong(), anyLong(), any(ProductPatchDTO.class));
+    }
+
+    @Test
+    void deleteProduct_whenVersionHasChanged() throws Exception {
+        doThrow(new PreconditionFailedException("Product", "1"))
+                .when(productService).deleteProductIfMatch(1L, 0L);
+
+        mockMvc.perform(delete("/api/products/1").header("If-Match", "\"1-0\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", is(ResponseStatus.ERROR.toString())))
+                .andExpect(jsonPath("$.code", is(412)));
+
+        verify(productService, never()).deleteProduct(anyLong());
+    }
+
     @Test
     void deleteProduct() throws Exception {
         doNothing().when(productService).deleteProduct(1L);
@@ -1,6 +1,11 @@
 package com.diegoehg.onlinestore.controller;
 
+import com.diegoehg.onlinestore.dto.PaymentMethodDTO;
 import com.diegoehg.onlinestore.dto.SellerDTO;
+import com.diegoehg.onlinestore.dto.SellerDetailDTO;
+import com.diegoehg.onlinestore.dto.SellerSummaryDTO;
+import com.diegoehg.onlinestore.exception.ResourceNotFoundException;
+import com.diegoehg.onlinestore.model.PagedResponse;
 import com.diegoehg.onlinestore.service.SellerService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,11 +14,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,6 +44,8 @@ public class SellerControllerTest {
         mockMvc.perform(get("/api/sellers")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("Deprecation", "true"))
+                .andExpect(header().string("Link", "</api/sellers?page=1>; rel=\"successor-version\""))
                 .andExpect(jsonPath("$.status").value("SUCCESS"))
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data.length()").value(2))
@@ -45,4 +54,52 @@ public class SellerControllerTest {
                 .andExpect(jsonPath("$.data[1].id").value(2))
                 .andExpect(jsonPath("$.data[1].name").value("Seller 2"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetSellerSummaries() throws Exception {
+        SellerSummaryDTO seller1 = new SellerSummaryDTO(1L, "Seller 1", 3, new BigDecimal("9.99"), new BigDecimal("99.99"));
+        SellerSummaryDTO seller2 = new SellerSummaryDTO(2L, "Seller 2", 0, null, null);
+        PagedResponse<SellerSummaryDTO> pagedResponse = new PagedResponse<>(
+                Arrays.asList(seller1, seller2), 1, 2, 5, 3, false, true);
+
+        when(sellerService.getSellerSummariesPaginated(1, 2)).thenReturn(pagedResponse);
+
+        mockMvc.perform(get("/api/sellers?page=1&size=2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.content.length()").value(2))
+                .andExpect(jsonPath("$.data.totalElements").value(5))
+                .andExpect(jsonPath("$.data.content[0].productCount").value(3))
+                .andExpect(jsonPath("$.data.content[0].minPrice").value(9.99))
+                .andExpect(jsonPath("$.data.content[0].maxPrice").value(99.99))
+                .andExpect(jsonPath("$.data.content[1].productCount").value(0))
+                .andExpect(jsonPath("$.data.content[1].minPrice").isEmpty());
+    }
+
+    @Test
+    public void testGetSellerById() throws Exception {
+        SellerDetailDTO seller = new SellerDetailDTO(1L, "Seller 1", List.of(new PaymentMethodDTO(1L, "Cash")),
+                3, new BigDecimal("9.99"), new BigDecimal("99.99"));
+
+        when(sellerService.getSellerById(1L)).thenReturn(seller);
+
+        mockMvc.perform(get("/api/sellers/1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.paymentMethods[0].name").value("Cash"))
+                .andExpect(jsonPath("$.data.productCount").value(3));
+    }
+
+    @Test
+    public void testGetSellerByIdNotFound() throws Exception {
+        when(sellerService.getSellerById(99L)).thenThrow(new ResourceNotFoundException("Seller", "99"));
+
+        mockMvc.perform(get("/api/sellers/99")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.message").value("Seller with ID 99 not found."));
+    }
+}
@@ -0,0 +1,97 @@
+package com.diegoehg.onlinestore.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes transactions between two H2 databases standing in for a primary and a replica.
+ * Every database has a table with its own name, and the replica reports its lag from a table.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate replicaJdbcTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        JdbcTemplate primaryJdbcTemplate = new JdbcTemplate(primary);
+        primaryJdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        primaryJdbcTemplate.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+        replicaJdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        replicaJdbcTemplate.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbcTemplate.execute("CREATE TABLE lag (seconds DOUBLE)");
+        replicaJdbcTemplate.update("INSERT INTO lag VALUES (0)");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                Duration.ofSeconds(1), "SELECT seconds FROM lag", Duration.ZERO);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals(List.of("replica-0"), routingDataSource.getInSyncReplicas());
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void writeTransactionsUseThePrimary() {
+        assertEquals("primary", writeTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void pinnedReadsUseThePrimary() {
+        boolean previous = ReplicaRoutingDataSource.pinToPrimary(true);
+        try {
+            assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+        } finally {
+            ReplicaRoutingDataSource.pinToPrimary(previous);
+        }
+    }
+
+    @Test
+    void laggingReplicasAreSkipped() {
+        replicaJdbcTemplate.update("UPDATE lag SET seconds = 30");
+        routingDataSource.checkReplicas();
+
+        assertEquals(List.of(), routingDataSource.getInSyncReplicas());
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        // Every test starts from new databases
+        dataSource.setURL("jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,127 @@
+package com.diegoehg.onlinestore.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes JPA transactions, as the services run them, between two H2 databases standing in for a
+ * primary and a replica. Unlike plain JDBC transactions, a JPA transaction can reuse the connection
+ * of an EntityManager opened before it, which is what an EntityManager kept open for the whole
+ * request (open-in-view) does.
+ */
+class ReplicaRoutingJpaTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE node (name VARCHAR(20))");
+        new JdbcTemplate(primary).update("INSERT INTO node VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE node (name VARCHAR(20))");
+        new JdbcTemplate(replica).update("INSERT INTO node VALUES ('replica')");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                Duration.ofSeconds(1), "SELECT 0", Duration.ZERO);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.checkReplicas();
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(new LazyConnectionDataSourceProxy(routingDataSource));
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // No entities: the tests only run native queries
+        entityManagerFactoryBean.setPackagesToScan(ReplicaRoutingJpaTest.class.getPackageName());
+        entityManagerFactoryBean.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        entityManagerFactoryBean.afterPropertiesSet();
+        entityManagerFactory = entityManagerFactoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactoryBean.destroy();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals(List.of("replica-0"), routingDataSource.getInSyncReplicas());
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void writeTransactionsUseThePrimary() {
+        assertEquals("primary", writeTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void transactionsOfARequestAreRoutedSeparately() {
+        // A version check, then a read pinned to the primary, then a write, as in one request
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+
+        boolean previous = ReplicaRoutingDataSource.pinToPrimary(true);
+        try {
+            assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+        } finally {
+            ReplicaRoutingDataSource.pinToPrimary(previous);
+        }
+
+        assertEquals("primary", writeTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void entityManagerOpenForTheRequestKeepsItsFirstConnection() {
+        // What open-in-view does, and why it is turned off: later transactions reuse the replica
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+        try {
+            assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+            assertEquals("replica", writeTransaction.execute(status -> currentNode()));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+    }
+
+    private String currentNode() {
+        return (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult();
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        // Every test starts from new databases
+        dataSource.setURL("jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
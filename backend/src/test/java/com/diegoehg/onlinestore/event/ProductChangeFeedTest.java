@@ -0,0 +1,201 @@
+package com.diegoehg.onlinestore.event;
+
+import com.diegoehg.onlinestore.dto.ProductChangeDTO;
+import com.diegoehg.onlinestore.model.ChangeLogResponse;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductChangeFeedTest {
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\\nevent:(\\w+)");
+
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private ProductChangeFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    void testChangesSinceOldestRetainedSequenceAreComplete() {
+        // Arrange: 5 changes, of which the last 3 are retained
+        feed = feed(3, 256);
+        deleteProducts(5);
+
+        // Act
+        ChangeLogResponse<ProductChangeDTO> changes = feed.getChangesSince(2);
+
+        // Assert
+        assertTrue(changes.isComplete());
+        assertEquals(5, changes.getLatestSequence());
+        assertEquals(List.of(3L, 4L, 5L), sequences(changes.getContent()));
+    }
+
+    @Test
+    void testChangesSinceBeforeRetentionAreIncomplete() {
+        // Arrange
+        feed = feed(3, 256);
+        deleteProducts(5);
+
+        // Act
+        ChangeLogResponse<ProductChangeDTO> changes = feed.getChangesSince(1);
+
+        // Assert
+        assertFalse(changes.isComplete());
+        assertEquals(5, changes.getLatestSequence());
+        assertTrue(changes.getContent().isEmpty());
+    }
+
+    @Test
+    void testChangesSinceLatestOrFutureSequence() {
+        // Arrange
+        feed = feed(3, 256);
+        deleteProducts(5);
+
+        // Act
+        ChangeLogResponse<ProductChangeDTO> upToDate = feed.getChangesSince(5);
+        ChangeLogResponse<ProductChangeDTO> previousRun = feed.getChangesSince(6);
+
+        // Assert: a sequence the feed never reached comes from a previous run of the server
+        assertTrue(upToDate.isComplete());
+        assertTrue(upToDate.getContent().isEmpty());
+        assertFalse(previousRun.isComplete());
+    }
+
+    @Test
+    void testSubscriberBufferOverflowSendsReset() throws Exception {
+        // Arrange: the client does not read until the connected event is released
+        feed = feed(100, 2);
+        emitter.blockFirstSend();
+        feed.subscribe(null);
+
+        // Act: the third change overflows the buffer of 2
+        deleteProducts(5);
+        emitter.releaseFirstSend();
+
+        // Assert
+        assertEquals("connected:0", emitter.next());
+        assertEquals("reset:3", emitter.next());
+        assertEquals("change:4", emitter.next());
+        assertEquals("change:5", emitter.next());
+    }
+
+    @Test
+    void testReconnectReplaysMissedChanges() throws Exception {
+        // Arrange
+        feed = feed(100, 256);
+        deleteProducts(3);
+
+        // Act
+        feed.subscribe(1L);
+
+        // Assert
+        assertEquals("connected:3", emitter.next());
+        assertEquals("change:2", emitter.next());
+        assertEquals("change:3", emitter.next());
+
+        deleteProducts(1);
+        assertEquals("change:4", emitter.next());
+    }
+
+    @Test
+    void testReconnectAfterRetainedChangesSendsReset() throws Exception {
+        // Arrange
+        feed = feed(3, 256);
+        deleteProducts(5);
+
+        // Act
+        feed.subscribe(1L);
+
+        // Assert
+        assertEquals("connected:5", emitter.next());
+        assertEquals("reset:5", emitter.next());
+        assertNull(emitter.poll());
+    }
+
+    private ProductChangeFeed feed(int historySize, int subscriberBufferSize) {
+        return new ProductChangeFeed(mock(ProductRepository.class), historySize, subscriberBufferSize,
+                Duration.ofMinutes(1)) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitter;
+            }
+        };
+    }
+
+    /**
+     * Appends one change per product; deletions are not reloaded, so the repository is not needed
+     */
+    private void deleteProducts(int count) {
+        List<Long> ids = LongStream.rangeClosed(1, count).boxed().toList();
+        feed.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, ids));
+    }
+
+    private List<Long> sequences(List<ProductChangeDTO> changes) {
+        return changes.stream().map(ProductChangeDTO::getSequence).toList();
+    }
+
+    /**
+     * Emitter that records the events sent to it as "name:id"
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blockNextSend;
+
+        void blockFirstSend() {
+            blockNextSend = true;
+        }
+
+        void releaseFirstSend() {
+            release.countDown();
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "No event was sent");
+            return event;
+        }
+
+        String poll() throws InterruptedException {
+            return events.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof String)
+                    .forEach(part -> text.append(part.getData()));
+            Matcher matcher = EVENT.matcher(text);
+            assertTrue(matcher.find(), "Unexpected event: " + text);
+            events.add(matcher.group(2) + ":" + matcher.group(1));
+
+            if (blockNextSend) {
+                blockNextSend = false;
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
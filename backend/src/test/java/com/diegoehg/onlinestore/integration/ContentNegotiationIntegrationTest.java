@@ -0,0 +1,83 @@
+package com.diegoehg.onlinestore.integration;
+
+import com.diegoehg.onlinestore.config.BinaryFormatsConfig;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import com.diegoehg.onlinestore.repository.SellerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Response formats chosen with the application's real message converters (see
+ * {@link BinaryFormatsConfig}), which controller tests do not load: JSON unless the client asks
+ * for CBOR or Smile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+class ContentNegotiationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void seed() {
+        Seller seller = sellerRepository.save(new Seller("Tech Store"));
+        productRepository.save(new Product("Laptop", "15.6-inch laptop",
+                new ArrayList<>(List.of("laptop.jpg")), new BigDecimal("999.99"), seller));
+    }
+
+    @Test
+    void testAnyAcceptedTypeGetsJson() throws Exception {
+        mockMvc.perform(get("/api/sellers").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/api/products?page=1&size=10").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testMissingAcceptHeaderGetsJson() throws Exception {
+        mockMvc.perform(get("/api/sellers"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/api/products?page=1&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testBinaryFormatsAreSentWhenRequested() throws Exception {
+        mockMvc.perform(get("/api/sellers").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+
+        mockMvc.perform(get("/api/sellers").accept(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryFormatsConfig.APPLICATION_SMILE));
+    }
+}
@@ -0,0 +1,93 @@
+package com.diegoehg.onlinestore.integration;
+
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import com.diegoehg.onlinestore.repository.SellerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Product writes against an embedded H2 database, for behavior that depends on JPA itself
+ * (entity state, versions) and cannot be checked with a mocked service.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+class ProductWriteIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Seller seller;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        seller = sellerRepository.save(new Seller("Tech Store"));
+        product = productRepository.save(new Product("Laptop", "15.6-inch laptop",
+                new ArrayList<>(List.of("laptop.jpg")), new BigDecimal("999.99"), seller));
+    }
+
+    @Test
+    void testCreateProductWithExistingIdOverwritesIt() throws Exception {
+        long productCount = productRepository.count();
+
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson(product.getId(), "Gaming Laptop")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value(product.getId()))
+                .andExpect(jsonPath("$.data.title").value("Gaming Laptop"))
+                .andExpect(jsonPath("$.data.version").value(product.getVersion() + 1));
+
+        assertEquals(productCount, productRepository.count());
+        assertEquals("Gaming Laptop", productRepository.findById(product.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testCreateProductWithUnknownIdIsNotFound() throws Exception {
+        long productCount = productRepository.count();
+
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson(Long.MAX_VALUE, "Gaming Laptop")))
+                .andExpect(status().isNotFound());
+
+        assertEquals(productCount, productRepository.count());
+    }
+
+    private String productJson(Long id, String title) {
+        return """
+                {
+                  "id": %d,
+                  "title": "%s",
+                  "description": "15.6-inch laptop with 32GB RAM",
+                  "images": ["gaming-laptop.jpg"],
+                  "price": 1299.99,
+                  "seller": {"id": %d}
+                }
+                """.formatted(id, title, seller.getId());
+    }
+}
@@ -0,0 +1,171 @@
+package com.diegoehg.onlinestore.integration;
+
+import com.diegoehg.onlinestore.model.PaymentMethod;
+import com.diegoehg.onlinestore.model.Product;
+import com.diegoehg.onlinestore.model.Seller;
+import com.diegoehg.onlinestore.repository.PaymentMethodRepository;
+import com.diegoehg.onlinestore.repository.ProductRepository;
+import com.diegoehg.onlinestore.repository.SellerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements executed by the main read endpoints, against an embedded
+ * H2 database. Caches are cleared before every request, so the bounds hold for cold reads.
+ * Listings are requested with more products than their bound, so an N+1 regression cannot pass.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementCountIntegrationTest {
+
+    private static final int PRODUCT_COUNT = 30;
+    private static final int PAGE_SIZE = 20;
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+        @Bean
+        @Primary
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long productId;
+
+    @BeforeAll
+    void seed() {
+        List<PaymentMethod> paymentMethods = paymentMethodRepository.saveAll(List.of(
+                new PaymentMethod("Credit Card"), new PaymentMethod("PayPal"), new PaymentMethod("Bank Transfer")));
+
+        List<Seller> sellers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Seller seller = new Seller("Seller " + i);
+            paymentMethods.subList(0, 1 + i % paymentMethods.size()).forEach(seller::addPaymentMethod);
+            sellers.add(seller);
+        }
+        sellers = sellerRepository.saveAll(sellers);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Product(
+                    "Product " + i,
+                    "Description of product " + i,
+                    new ArrayList<>(List.of("product" + i + "-1.jpg", "product" + i + "-2.jpg")),
+                    new BigDecimal("10.00").add(BigDecimal.valueOf(i)),
+                    sellers.get(i % sellers.size())));
+        }
+        productId = productRepository.saveAll(products).get(0).getId();
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void productListing() throws Exception {
+        // Products joined with sellers, count, images batch, payment methods batch
+        assertStatementsAtMost(4, get("/api/products").param("size", String.valueOf(PAGE_SIZE)));
+    }
+
+    @Test
+    void filteredProductListing() throws Exception {
+        assertStatementsAtMost(4, filteredListing());
+    }
+
+    @Test
+    void filteredProductListingNotModified() throws Exception {
+        String eTag = mockMvc.perform(filteredListing()).andReturn().getResponse().getHeader("ETag");
+
+        // IDs and versions of the page, count
+        assertStatementsAtMost(2, filteredListing().header("If-None-Match", eTag), status().isNotModified());
+    }
+
+    @Test
+    void filteredCursorPage() throws Exception {
+        // Products joined with sellers, images batch, payment methods batch
+        assertStatementsAtMost(3, get("/api/products")
+                .param("after", "")
+                .param("size", String.valueOf(PAGE_SIZE))
+                .param("minPrice", "15"));
+    }
+
+    @Test
+    void productDetail() throws Exception {
+        // Product joined with images and seller, payment methods
+        assertStatementsAtMost(2, get("/api/products/{id}", productId));
+    }
+
+    @Test
+    void sellers() throws Exception {
+        // Sellers, then their payment methods in one batch
+        assertStatementsAtMost(2, get("/api/sellers"));
+    }
+
+    private static MockHttpServletRequestBuilder filteredListing() {
+        return get("/api/products")
+                .param("size", String.valueOf(PAGE_SIZE))
+                .param("minPrice", "15")
+                .param("sort", "price")
+                .param("direction", "desc");
+    }
+
+    private void assertStatementsAtMost(int max, RequestBuilder request) throws Exception {
+        assertStatementsAtMost(max, request, status().isOk());
+    }
+
+    private void assertStatementsAtMost(int max, RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        List<String> statements = statementRecorder.record(
+                () -> mockMvc.perform(request).andExpect(expectedStatus));
+
+        assertTrue(statements.size() <= max, () -> "Expected at most " + max + " SQL statements but "
+                + statements.size() + " were executed:\n" + String.join("\n", statements));
+    }
+}
@@ -0,0 +1,46 @@
+package com.diegoehg.onlinestore.integration;
+
+import com.diegoehg.onlinestore.metrics.StatementCountingInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Statement inspector for tests: besides counting statements like {@link StatementCountingInspector},
+ * it records the SQL of every statement prepared while recording is on.
+ */
+public class StatementRecorder extends StatementCountingInspector {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            statements.add(sql);
+        }
+        return super.inspect(sql);
+    }
+
+    /**
+     * Records the statements prepared while running an action
+     * @param action The action to run
+     * @return The SQL of the statements, in execution order
+     */
+    public List<String> record(ThrowingRunnable action) throws Exception {
+        statements.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return new ArrayList<>(statements);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,436 @@
+package com.diegoehg.onlinestore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load-test driver that replays a mix of listing, detail, create, update and delete requests
+ * against a running backend, from many concurrent clients, and reports throughput and latency
+ * percentiles (p50, p90, p99, p99.9) per operation. Results are also written as JSON, so they
+ * can be compared between releases. Run it with: ./mvnw -Ploadtest test-compile exec:exec
+ *
+ * The backend is expected to be seeded, e.g. with the synthetic catalog of SyntheticDataInitializer.
+ * Updates and deletes only touch products created by the driver itself, so the seeded catalog is
+ * left as it was and runs are repeatable. It is configured with system properties:
+ * - loadtest.url: base URL of the backend (http://localhost:9090)
+ * - loadtest.concurrency: number of concurrent clients (64)
+ * - loadtest.warmup: seconds of traffic before measuring (30)
+ * - loadtest.duration: seconds of measured traffic (60)
+ * - loadtest.mix: weights of the operations (list=50,detail=35,create=5,update=7,delete=3)
+ * - loadtest.seed: seed of the random generators (42)
+ * - loadtest.output: file the results are written to (target/loadtest-result.json)
+ */
+public class LoadTestDriver {
+
+    enum Operation { LIST, DETAIL, CREATE, UPDATE, DELETE }
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SAMPLE_PAGE_SIZE = 100;
+    private static final int SAMPLE_PAGES = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+    private final long seed;
+    private final Path output;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    // Products created by the run, guarded by itself; updates and deletes pick one at random
+    private final List<Long> createdIds = new ArrayList<>();
+    private List<Long> productIds;
+    private List<Long> sellerIds;
+    private int totalPages;
+
+    public LoadTestDriver(String baseUrl, int concurrency, Duration warmup, Duration duration,
+                          Map<Operation, Integer> mix, long seed, Path output) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.seed = seed;
+        this.output = output;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestDriver driver = new LoadTestDriver(
+                System.getProperty("loadtest.url", "http://localhost:9090"),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 30L)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60L)),
+                parseMix(System.getProperty("loadtest.mix", "list=50,detail=35,create=5,update=7,delete=3")),
+                Long.getLong("loadtest.seed", 42L),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json")));
+        driver.run();
+    }
+
+    /**
+     * Samples the catalog, runs the warm-up and the measured traffic, and reports the results.
+     */
+    public void run() throws Exception {
+        sampleCatalog();
+        System.out.printf("Sampled %d products (%d pages) and %d sellers from %s%n",
+                productIds.size(), totalPages, sellerIds.size(), baseUrl);
+        System.out.printf("Running %d clients: %ds warm-up, %ds measured, mix %s%n",
+                concurrency, warmup.toSeconds(), duration.toSeconds(), mix);
+
+        Instant measureFrom = Instant.now().plus(warmup);
+        Instant measureUntil = measureFrom.plus(duration);
+
+        List<Future<Map<Operation, LatencyRecorder>>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(seed + i);
+                clients.add(executor.submit(() -> runClient(random, measureFrom, measureUntil)));
+            }
+        }
+
+        Map<Operation, LatencyRecorder> results = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            results.put(operation, new LatencyRecorder());
+        }
+        for (Future<Map<Operation, LatencyRecorder>> client : clients) {
+            client.get().forEach((operation, recorder) -> results.get(operation).addAll(recorder));
+        }
+
+        report(results);
+    }
+
+    private Map<Operation, LatencyRecorder> runClient(Random random, Instant measureFrom, Instant measureUntil) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Instant now;
+        while ((now = Instant.now()).isBefore(measureUntil)) {
+            Operation operation = pickOperation(random, totalWeight);
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, random);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long latency = System.nanoTime() - start;
+            if (!now.isBefore(measureFrom)) {
+                recorders.get(operation).record(latency, success);
+            }
+        }
+        return recorders;
+    }
+
+    private Operation pickOperation(Random random, int totalWeight) {
+        int value = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.LIST;
+    }
+
+    /**
+     * Sends the request of an operation. Updates and deletes without products created by
+     * the driver fall back to creating one, so the measured mix stays close to the configured one.
+     * @return Whether the backend answered with a 2xx status
+     */
+    private boolean execute(Operation operation, Random random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LIST -> list(random);
+            case DETAIL -> detail(random);
+            case CREATE -> create(random);
+            case UPDATE -> update(random);
+            case DELETE -> delete(random);
+        };
+    }
+
+    private boolean list(Random random) throws IOException, InterruptedException {
+        // Early pages are requested far more often than deep ones, like real browsing
+        int page = 1 + (int) (totalPages * Math.pow(random.nextDouble(), 3));
+        return isSuccessful(send(get("/api/products?page=" + page + "&size=" + PAGE_SIZE)));
+    }
+
+    private boolean detail(Random random) throws IOException, InterruptedException {
+        Long id = productIds.get(random.nextInt(productIds.size()));
+        return isSuccessful(send(get("/api/products/" + id)));
+    }
+
+    private boolean create(Random random) throws IOException, InterruptedException {
+        HttpRequest request = json("/api/products")
+                .POST(HttpRequest.BodyPublishers.ofString(productJson(random)))
+                .build();
+        HttpResponse<String> response = send(request);
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        Long id = objectMapper.readTree(response.body()).path("data").path("id").asLong();
+        synchronized (createdIds) {
+            createdIds.add(id);
+        }
+        return true;
+    }
+
+    private boolean update(Random random) throws IOException, InterruptedException {
+        Long id = pickCreatedId(random, false);
+        if (id == null) {
+            return create(random);
+        }
+        HttpRequest request = json("/api/products/" + id)
+                .PUT(HttpRequest.BodyPublishers.ofString(productJson(random)))
+                .build();
+        HttpResponse<String> response = send(request);
+        // Another client may have deleted the product in the meantime
+        return isSuccessful(response) || response.statusCode() == 404;
+    }
+
+    private boolean delete(Random random) throws IOException, InterruptedException {
+        Long id = pickCreatedId(random, true);
+        if (id == null) {
+            return create(random);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/" + id))
+                .timeout(REQUEST_TIMEOUT)
+                .DELETE()
+                .build();
+        return isSuccessful(send(request));
+    }
+
+    /**
+     * Picks one of the products created by the run at random, so writes are spread over many rows
+     * instead of contending on the same one
+     *
+     * @param random Random generator of the client
+     * @param remove Whether to remove the product from the created ones (when deleting it)
+     * @return The ID of the product, or null if no product has been created yet
+     */
+    private Long pickCreatedId(Random random, boolean remove) {
+        synchronized (createdIds) {
+            if (createdIds.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(createdIds.size());
+            Long id = createdIds.get(index);
+            if (remove) {
+                // Swaps in the last ID, so removal does not shift the list
+                createdIds.set(index, createdIds.get(createdIds.size() - 1));
+                createdIds.remove(createdIds.size() - 1);
+            }
+            return id;
+        }
+    }
+
+    private String productJson(Random random) throws IOException {
+        ObjectNode product = objectMapper.createObjectNode();
+        product.put("title", "Load Test Product " + random.nextInt(1_000_000));
+        product.put("description", "Product created by the load-test driver.");
+        product.put("price", BigDecimal.valueOf(1 + random.nextDouble() * 500).setScale(2, RoundingMode.HALF_UP));
+        product.putArray("images").add("https://picsum.photos/seed/loadtest/800/600");
+        product.putObject("seller").put("id", sellerIds.get(random.nextInt(sellerIds.size())));
+        return objectMapper.writeValueAsString(product);
+    }
+
+    /**
+     * Collects product IDs from pages spread over the whole catalog, and the seller IDs,
+     * so detail requests and new products reference existing data.
+     */
+    private void sampleCatalog() throws IOException, InterruptedException {
+        JsonNode firstPage = getData("/api/products?page=1&size=" + SAMPLE_PAGE_SIZE);
+        int samplePages = firstPage.path("totalPages").asInt();
+        totalPages = (int) Math.max(1, firstPage.path("totalElements").asLong() / PAGE_SIZE);
+
+        Random random = new Random(seed);
+        productIds = new ArrayList<>();
+        firstPage.path("content").forEach(product -> productIds.add(product.path("id").asLong()));
+        for (int i = 1; i < Math.min(SAMPLE_PAGES, samplePages); i++) {
+            int page = 1 + random.nextInt(samplePages);
+            getData("/api/products?page=" + page + "&size=" + SAMPLE_PAGE_SIZE)
+                    .path("content").forEach(product -> productIds.add(product.path("id").asLong()));
+        }
+
+        sellerIds = new ArrayList<>();
+        getData("/api/sellers?page=1&size=100")
+                .path("content").forEach(seller -> sellerIds.add(seller.path("id").asLong()));
+
+        if (productIds.isEmpty() || sellerIds.isEmpty()) {
+            throw new IllegalStateException("The backend at " + baseUrl + " has no products or sellers to test with");
+        }
+    }
+
+    private JsonNode getData(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(get(path));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).path("data");
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private void report(Map<Operation, LatencyRecorder> results) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        LatencyRecorder total = new LatencyRecorder();
+
+        System.out.printf("%n%-8s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, LatencyRecorder> entry : results.entrySet()) {
+            total.addAll(entry.getValue());
+            operations.put(entry.getKey().name().toLowerCase(), summarize(entry.getKey().name().toLowerCase(), entry.getValue(), seconds));
+        }
+        operations.put("total", summarize("total", total, seconds));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("url", baseUrl);
+        result.put("concurrency", concurrency);
+        result.put("warmupSeconds", warmup.toSeconds());
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("mix", mix);
+        result.put("seed", seed);
+        result.put("operations", operations);
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), result);
+        System.out.printf("%nResults written to %s%n", output);
+    }
+
+    private static Map<String, Object> summarize(String name, LatencyRecorder recorder, double seconds) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", recorder.count());
+        stats.put("errors", recorder.errors());
+        stats.put("throughput", recorder.count() / seconds);
+        stats.put("p50", recorder.percentileMillis(50));
+        stats.put("p90", recorder.percentileMillis(90));
+        stats.put("p99", recorder.percentileMillis(99));
+        stats.put("p999", recorder.percentileMillis(99.9));
+        stats.put("max", recorder.percentileMillis(100));
+
+        System.out.printf("%-8s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, recorder.count(), recorder.errors(), stats.get("throughput"),
+                stats.get("p50"), stats.get("p90"), stats.get("p99"), stats.get("p999"), stats.get("max"));
+        return stats;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Latencies of one operation, in nanoseconds. Every client has its own recorders,
+     * which are merged at the end, so recording never contends between clients.
+     */
+    static class LatencyRecorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private boolean sorted;
+
+        void record(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+            sorted = false;
+        }
+
+        void addAll(LatencyRecorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(count + other.count, latencies.length * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            sorted = false;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int errors() {
+            return errors;
+        }
+
+        double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(latencies, 0, count);
+                sorted = true;
+            }
+            int index = (int) Math.ceil(percentile / 100 * count) - 1;
+            return latencies[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.diegoehg.onlinestore.model;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -75,4 +76,24 @@ class ProductTest {
         assertTrue(toString.contains("images=[image1.jpg, image2.jpg]"));
         assertTrue(toString.contains("price=99.99"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateImagesChangesListInPlace() {
+        // Arrange
+        List<String> images = new ArrayList<>(Arrays.asList("image1.jpg", "image2.jpg", "image3.jpg"));
+        Product product = new Product("Test Product", "Test Description", images, new BigDecimal("99.99"));
+
+        // Act
+        product.updateImages(Arrays.asList("image1.jpg", "new-image2.jpg"));
+
+        // Assert
+        assertSame(images, product.getImages());
+        assertEquals(Arrays.asList("image1.jpg", "new-image2.jpg"), product.getImages());
+
+        // Act
+        product.updateImages(Arrays.asList("image1.jpg", "new-image2.jpg", "image4.jpg"));
+
+        // Assert
+        assertEquals(Arrays.asList("image1.jpg", "new-image2.jpg", "image4.jpg"), product.getImages());
+    }
+}
@@ -0,0 +1,92 @@
+package com.diegoehg.onlinestore.search;
+
+import com.diegoehg.onlinestore.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(summary(1L, "High-Performance Laptop"), "High-Performance Laptop",
+                "15.6-inch laptop with 16GB RAM and 512GB SSD storage.");
+        index.index(summary(2L, "Premium Smartphone"), "Premium Smartphone",
+                "6.5-inch smartphone with 128GB storage and a high-resolution camera.");
+        index.index(summary(3L, "Laptop Sleeve"), "Laptop Sleeve",
+                "Padded sleeve that fits most 15-inch devices.");
+    }
+
+    @Test
+    void testSearchRanksTitleMatchesFirst() {
+        // Act
+        List<ProductSummaryDTO> results = index.search("high", 10);
+        List<ProductSummaryDTO> laptops = index.search("laptop", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(results));
+        assertEquals(List.of(1L, 3L), ids(laptops));
+    }
+
+    @Test
+    void testSearchIsCaseInsensitiveAndMatchesAnyTerm() {
+        // Act
+        List<ProductSummaryDTO> results = index.search("SMARTPHONE sleeve", 10);
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(ids(results).containsAll(List.of(2L, 3L)));
+    }
+
+    @Test
+    void testSearchRespectsLimit() {
+        // Act
+        List<ProductSummaryDTO> results = index.search("inch", 2);
+
+        // Assert
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void testSearchWithoutTermsReturnsNothing() {
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("tablet", 10).isEmpty());
+    }
+
+    @Test
+    void testReindexReplacesPreviousTerms() {
+        // Act
+        index.index(summary(3L, "Tablet Case"), "Tablet Case", "Hard case for tablets.");
+
+        // Assert
+        assertEquals(List.of(1L), ids(index.search("laptop", 10)));
+        assertEquals(List.of(3L), ids(index.search("tablet", 10)));
+        assertEquals("Tablet Case", index.search("tablet", 10).get(0).getTitle());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testRemove() {
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(3L), ids(index.search("laptop", 10)));
+        assertEquals(2, index.size());
+    }
+
+    private static ProductSummaryDTO summary(Long id, String title) {
+        return new ProductSummaryDTO(id, title, new BigDecimal("9.99"), "image.jpg", 1L, "Seller");
+    }
+
+    private static List<Long> ids(List<ProductSummaryDTO> summaries) {
+        return summaries.stream().map(ProductSummaryDTO::getId).toList();
+    }
+}
@@ -0,0 +1,152 @@
+package com.diegoehg.onlinestore.service;
+
+import com.diegoehg.onlinestore.exception.ResourceNotFoundException;
+import com.diegoehg.onlinestore.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>("Product", Duration.ofSeconds(5));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void testConcurrentLoadsOfSameKeyShareOneLoad() throws Exception {
+        // Arrange
+        CompletableFuture<String> leader = startLeader(() -> "Laptop");
+        List<CompletableFuture<String>> waiters = startWaiters(10);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertEquals("Laptop", leader.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> waiter : waiters) {
+            assertEquals("Laptop", waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testLoadFailureIsPropagatedToWaiters() throws Exception {
+        // Arrange
+        CompletableFuture<String> leader = startLeader(() -> {
+            throw new ResourceNotFoundException("Product", "1");
+        });
+        List<CompletableFuture<String>> waiters = startWaiters(3);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertInstanceOf(ResourceNotFoundException.class, failure(leader));
+        for (CompletableFuture<String> waiter : waiters) {
+            assertInstanceOf(ResourceNotFoundException.class, failure(waiter));
+        }
+
+        // The failure is not remembered
+        assertEquals("Laptop", singleFlight.load(1L, () -> "Laptop"));
+    }
+
+    @Test
+    void testWaitersTimeOutWhileLoadIsInFlight() throws Exception {
+        // Arrange
+        SingleFlight<Long, String> impatient = new SingleFlight<>("Product", Duration.ofMillis(50));
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> impatient.load(1L, this::blockingLoad));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Act
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> impatient.load(1L, () -> "Other"));
+        release.countDown();
+
+        // Assert
+        assertTrue(exception.getMessage().contains("Product 1"));
+        assertEquals("Laptop", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testForgetLetsLaterCallersStartANewLoad() throws Exception {
+        // Arrange
+        CompletableFuture<String> leader = startLeader(() -> "Laptop");
+
+        // Act
+        singleFlight.forget(1L);
+        String reloaded = singleFlight.load(1L, () -> "Updated laptop");
+        release.countDown();
+
+        // Assert
+        assertEquals("Updated laptop", reloaded);
+        assertEquals("Laptop", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<String> startLeader(Supplier<String> result) throws InterruptedException {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.load(1L, () -> {
+            blockingLoad();
+            return result.get();
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        return leader;
+    }
+
+    private String blockingLoad() {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "Laptop";
+    }
+
+    /**
+     * Starts callers of the key being loaded and returns once all of them are waiting for the load
+     */
+    private List<CompletableFuture<String>> startWaiters(int count) throws InterruptedException {
+        List<CompletableFuture<String>> waiters = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<String> waiter = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    waiter.complete(singleFlight.load(1L, () -> {
+                        loads.incrementAndGet();
+                        return "Not shared";
+                    }));
+                } catch (RuntimeException e) {
+                    waiter.completeExceptionally(e);
+                }
+            });
+            thread.start();
+            waiters.add(waiter);
+            threads.add(thread);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (threads.stream().anyMatch(thread -> thread.getState() != Thread.State.TIMED_WAITING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return waiters;
+    }
+
+    private static Throwable failure(CompletableFuture<String> future) {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return exception.getCause();
+    }
+}
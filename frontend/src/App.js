@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import './App.css';
 import ProductList from './components/ProductList';
 import ProductDetail from './components/ProductDetail';
@@ -22,6 +22,10 @@ function App() {
   const [isFirstPage, setIsFirstPage] = useState(true);
   const [isLastPage, setIsLastPage] = useState(false);
 
+  // Latest pagination state, read by the change feed listeners
+  const pageRef = useRef({ page: 1, size: 10, isLastPage: false });
+  pageRef.current = { page: currentPage, size: pageSize, isLastPage };
+
   const fetchProducts = (page = currentPage, size = pageSize) => {
     setLoading(true);
     fetch(`${API_ENDPOINTS.PRODUCTS}?page=${page}&size=${size}`)
@@ -58,6 +62,38 @@ function App() {
     fetchProducts();
   }, []);
 
+  useEffect(() => {
+    // Apply product changes pushed by the backend to the current page instead of re-fetching it.
+    // EventSource reconnects by itself and the backend replays the changes missed meanwhile.
+    const changes = new EventSource(API_ENDPOINTS.PRODUCT_CHANGES);
+
+    changes.addEventListener('change', event => {
+      const change = JSON.parse(event.data);
+      if (change.type === 'UPDATED') {
+        setProducts(current => current.map(p => p.id === change.productId ? change.product : p));
+        setSelectedProduct(current => current && current.id === change.productId ? change.product : current);
+      } else if (change.type === 'DELETED') {
+        setProducts(current => current.filter(p => p.id !== change.productId));
+        setTotalElements(total => Math.max(total - 1, 0));
+      } else if (change.type === 'CREATED') {
+        // Products are listed by ID, so a new product can only appear at the end of the last page
+        const { size, isLastPage: onLastPage } = pageRef.current;
+        setProducts(current => onLastPage && current.length < size && !current.some(p => p.id === change.productId)
+          ? [...current, change.product]
+          : current);
+        setTotalElements(total => total + 1);
+      }
+    });
+
+    // The backend could not keep up with this client, or lost the changes it missed: reload the page
+    changes.addEventListener('reset', () => {
+      const { page, size } = pageRef.current;
+      fetchProducts(page, size);
+    });
+
+    return () => changes.close();
+  }, []);
+
   const handleProductSelect = (product) => {
     setSelectedProduct(product);
     setView('detail');
@@ -79,19 +115,14 @@ function App() {
   };
 
   const handleProductAdded = (newProduct) => {
-    // Add the new product to the list or refresh the list
-    setProducts([...products, newProduct]);
-
-    fetchProducts();
+    // The change feed adds the new product to the list when it belongs to the current page
   };
 
   const handleProductUpdated = (updatedProduct) => {
-    // Update the product in the list
+    // Update the product in the list; the change feed does the same for every other client
     setProducts(products.map(p => 
       p.id === updatedProduct.id ? updatedProduct : p
     ));
-
-    fetchProducts();
   };
   
   // Pagination handlers
@@ -3,6 +3,9 @@ import './ProductDetail.css'; // For layout structure
 import './ProductForm.css'; // For form-specific styles
 import { API_ENDPOINTS } from '../config';
 
+// Sellers are loaded a page at a time from the seller directory, which can be large
+const SELLERS_PAGE_SIZE = 100;
+
 const AddProduct = ({ onBack, onProductAdded }) => {
   const [formData, setFormData] = useState({
     title: '',
@@ -18,28 +21,33 @@ const AddProduct = ({ onBack, onProductAdded }) => {
   const [submitError, setSubmitError] = useState(null);
   const [sellers, setSellers] = useState([]);
   const [loadingSellers, setLoadingSellers] = useState(false);
-  
-  // Fetch sellers when component mounts
-  useEffect(() => {
-    const fetchSellers = async () => {
-      setLoadingSellers(true);
-      try {
-        const response = await fetch(API_ENDPOINTS.SELLERS);
-        const responseData = await response.json();
-        
-        if (responseData.status === 'SUCCESS') {
-          setSellers(responseData.data);
-        } else {
-          console.error('Error fetching sellers:', responseData.message);
-        }
-      } catch (error) {
-        console.error('Error fetching sellers:', error);
-      } finally {
-        setLoadingSellers(false);
+  const [sellersPage, setSellersPage] = useState(0);
+  const [isLastSellersPage, setIsLastSellersPage] = useState(false);
+
+  const fetchSellers = async (page) => {
+    setLoadingSellers(true);
+    try {
+      const response = await fetch(`${API_ENDPOINTS.SELLERS}?page=${page}&size=${SELLERS_PAGE_SIZE}`);
+      const responseData = await response.json();
+
+      if (responseData.status === 'SUCCESS') {
+        const { content, last } = responseData.data;
+        setSellers(previous => (page === 1 ? content : [...previous, ...content]));
+        setSellersPage(page);
+        setIsLastSellersPage(last);
+      } else {
+        console.error('Error fetching sellers:', responseData.message);
       }
-    };
-    
-    fetchSellers();
+    } catch (error) {
+      console.error('Error fetching sellers:', error);
+    } finally {
+      setLoadingSellers(false);
+    }
+  };
+
+  // Fetch the first page of sellers when component mounts
+  useEffect(() => {
+    fetchSellers(1);
   }, []);
 
   const handleChange = (e) => {
@@ -214,6 +222,15 @@ const AddProduct = ({ onBack, onProductAdded }) => {
               </select>
               {errors.sellerId && <div className="error-text">{errors.sellerId}</div>}
               {loadingSellers && <div className="loading-text">Loading sellers...</div>}
+              {!loadingSellers && !isLastSellersPage && sellers.length > 0 && (
+                <button
+                  type="button"
+                  className="load-more-btn"
+                  onClick={() => fetchSellers(sellersPage + 1)}
+                >
+                  Load more sellers
+                </button>
+              )}
             </div>
             
             <div className="form-group">
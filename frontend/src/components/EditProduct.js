@@ -93,17 +93,25 @@ const EditProduct = ({ product, onBack, onProductUpdated }) => {
         title: formData.title,
         description: formData.description,
         price: parseFloat(formData.price),
-        images: images
+        images: images,
+        seller: product.seller
       };
       
+      // The update only applies if nobody changed the product since it was loaded
       const response = await fetch(`${API_ENDPOINTS.PRODUCTS}/${product.id}`, {
         method: 'PUT',
         headers: {
-          'Content-Type': 'application/json'
+          'Content-Type': 'application/json',
+          'If-Match': `"${product.id}-${product.version}"`
         },
         body: JSON.stringify(productData)
       });
       
+      if (response.status === 412) {
+        setSubmitError('This product was changed by someone else. Go back to the list to load the latest version.');
+        return;
+      }
+
       const responseData = await response.json();
       
       if (responseData.status !== 'SUCCESS') {
@@ -3,6 +3,7 @@
 const API_BASE_URL = 'http://localhost:9090';
 const API_ENDPOINTS = {
   PRODUCTS: `${API_BASE_URL}/api/products`,
+  PRODUCT_CHANGES: `${API_BASE_URL}/api/products/changes`,
   SELLERS: `${API_BASE_URL}/api/sellers`
 };
 